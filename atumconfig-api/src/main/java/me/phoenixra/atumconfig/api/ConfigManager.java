@@ -2,6 +2,7 @@ package me.phoenixra.atumconfig.api;
 
 import me.phoenixra.atumconfig.api.config.Config;
 import me.phoenixra.atumconfig.api.config.ConfigFile;
+import me.phoenixra.atumconfig.api.config.ConfigFormat;
 import me.phoenixra.atumconfig.api.config.ConfigParser;
 import me.phoenixra.atumconfig.api.config.ConfigType;
 import me.phoenixra.atumconfig.api.config.catalog.ConfigCatalog;
@@ -13,8 +14,15 @@ import org.jetbrains.annotations.Nullable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 
 /**
@@ -58,6 +66,111 @@ public interface ConfigManager {
      */
     void reloadAll();
 
+    /**
+     * Saves all {@link ConfigFile}s managed by this manager, including the ones
+     * of its {@link ConfigCatalog}s. Files whose values did not change since they
+     * were last loaded or saved are skipped without being serialized.
+     * <p>
+     * The default implementation saves the files one by one,
+     * logging the files that fail to save.
+     */
+    default void saveAll() {
+        List<ConfigFile> files = new ArrayList<>(getConfigFilesMap().values());
+        for (ConfigCatalog catalog : getConfigCatalogsMap().values()) {
+            files.addAll(catalog.getConfigFilesMap().values());
+        }
+        for (ConfigFile configFile : files) {
+            try {
+                configFile.save();
+            } catch (Exception exception) {
+                getLogger().logError(
+                        "Caught an Exception while trying to save the config with name:" + configFile.getId(),
+                        exception
+                );
+            }
+        }
+    }
+
+    /**
+     * Starts watching the directories of all registered {@link ConfigFile}s
+     * and {@link ConfigCatalog}s, including ones registered later, and reloads
+     * only what changed on disk on a background thread.
+     * <p>
+     * Bursts of events for the same file or catalog are merged: a reload runs once
+     * no further change was seen for {@code debounceMillis}.
+     * Changed catalogs are reloaded via {@link ConfigCatalog#reloadIncremental()},
+     * so catalog listeners are called from the watcher thread.
+     * Does nothing if already watching.
+     *
+     * @param debounceMillis quiet time in milliseconds before a change is reloaded
+     * @throws IOException if the file system does not support watching
+     * @throws UnsupportedOperationException if the manager does not support watching,
+     *                                       which is the default
+     */
+    default void startWatching(long debounceMillis) throws IOException {
+        throw new UnsupportedOperationException("watching is not supported by " + getClass().getName());
+    }
+
+    /**
+     * Stops watching started by {@link #startWatching(long)}.
+     * Does nothing if not watching.
+     */
+    default void stopWatching() {}
+
+    /**
+     * Indicates whether changes on disk are currently watched.
+     *
+     * @return true if watching; false otherwise, which is the default
+     */
+    default boolean isWatching() {
+        return false;
+    }
+
+    /**
+     * Writes the pending changes of all write-behind {@link ConfigFile}s
+     * on the calling thread.
+     * <p>
+     * The default implementation flushes the write-behind files
+     * of this manager and its catalogs one by one.
+     *
+     * @see ConfigFile#setWriteBehind(boolean)
+     */
+    default void flushAll() {
+        List<ConfigFile> files = new ArrayList<>(getConfigFilesMap().values());
+        for (ConfigCatalog catalog : getConfigCatalogsMap().values()) {
+            files.addAll(catalog.getConfigFilesMap().values());
+        }
+        for (ConfigFile configFile : files) {
+            if (!configFile.isWriteBehind()) {
+                continue;
+            }
+            try {
+                configFile.flush();
+            } catch (Exception exception) {
+                getLogger().logError(
+                        "Caught an Exception while trying to flush the config with name:" + configFile.getId(),
+                        exception
+                );
+            }
+        }
+    }
+
+    /**
+     * Stops watching, writes the pending changes of all write-behind
+     * {@link ConfigFile}s and stops the background writer.
+     * Write-behind files saved afterwards are written on the calling thread.
+     * <p>
+     * Pending changes are also written by a JVM shutdown hook,
+     * but calling this when the manager is no longer used, e.g. when a plugin
+     * is disabled, does not rely on the JVM exiting.
+     * <p>
+     * The default implementation stops watching and calls {@link #flushAll()}.
+     */
+    default void shutdown() {
+        stopWatching();
+        flushAll();
+    }
+
     /**
      * Returns the logger used for writing informational messages,
      * warnings, and errors related to configuration operations.
@@ -94,6 +207,44 @@ public interface ConfigManager {
     @NotNull
     <T> Optional<ConfigParser<T>> getConfigParser(@NotNull Class<T> clazz);
 
+    /**
+     * Retrieves the parser serializing instances of the given class:
+     * the one registered for the class itself, else for its nearest superclass,
+     * else for one of the interfaces it implements.
+     * <p>
+     * Used when values are stored in a config, where any instance
+     * the parser accepts can be serialized.
+     *
+     * @param clazz the class of the value to serialize
+     * @return an Optional containing the parser if one applies
+     */
+    @NotNull
+    default Optional<ConfigParser<?>> getConfigParserFor(@NotNull Class<?> clazz) {
+        for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+            Optional<? extends ConfigParser<?>> parser = getConfigParser(current);
+            if (parser.isPresent()) {
+                return Optional.of(parser.get());
+            }
+        }
+        Deque<Class<?>> interfaces = new ArrayDeque<>();
+        Set<Class<?>> visited = new HashSet<>();
+        for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+            interfaces.addAll(Arrays.asList(current.getInterfaces()));
+        }
+        while (!interfaces.isEmpty()) {
+            Class<?> current = interfaces.poll();
+            if (!visited.add(current)) {
+                continue;
+            }
+            Optional<? extends ConfigParser<?>> parser = getConfigParser(current);
+            if (parser.isPresent()) {
+                return Optional.of(parser.get());
+            }
+            interfaces.addAll(Arrays.asList(current.getInterfaces()));
+        }
+        return Optional.empty();
+    }
+
     /**
      * Registers a {@link ConfigParser} for handling custom object serialization
      * and deserialization.
@@ -102,6 +253,36 @@ public interface ConfigManager {
      */
     void addConfigParser(@NotNull ConfigParser<?> configParser);
 
+    /**
+     * Retrieves the format registered for config files with the given extension.
+     *
+     * @param fileExtension the extension without the leading dot, e.g. {@code "toml"}
+     * @return an Optional containing the format if registered, empty by default
+     */
+    @NotNull
+    default Optional<ConfigFormat> getConfigFormat(@NotNull String fileExtension) {
+        return Optional.empty();
+    }
+
+    /**
+     * Registers a {@link ConfigFormat} for config files with the given extension.
+     * <p>
+     * Files with the extension are read and written with the format instead of
+     * the built-in handler of their {@link ConfigType}, and catalogs of the format's
+     * {@link ConfigFormat#getType() type} include them. Registering a format
+     * for a built-in extension, such as {@code "yml"}, replaces the built-in handling.
+     * Config files and catalogs loaded before keep their values until reloaded.
+     *
+     * @param fileExtension the extension without the leading dot, e.g. {@code "toml"}
+     * @param format        the format to register
+     * @throws IllegalArgumentException if the extension is empty or starts with a dot
+     * @throws UnsupportedOperationException if the manager does not support custom formats,
+     *                                       which is the default
+     */
+    default void addConfigFormat(@NotNull String fileExtension, @NotNull ConfigFormat format) {
+        throw new UnsupportedOperationException("config formats are not supported by " + getClass().getName());
+    }
+
     // =================== Config Creation ===================
 
     /**
@@ -1,6 +1,8 @@
 package me.phoenixra.atumconfig.api.config;
 
 import me.phoenixra.atumconfig.api.ConfigManager;
+import me.phoenixra.atumconfig.api.placeholders.CompiledTemplate;
+import me.phoenixra.atumconfig.api.placeholders.PlaceholderHandler;
 import me.phoenixra.atumconfig.api.placeholders.context.PlaceholderContext;
 import me.phoenixra.atumconfig.api.placeholders.context.PlaceholderList;
 import me.phoenixra.atumconfig.api.utils.Objects;
@@ -67,6 +69,16 @@ public interface Config extends PlaceholderList {
      */
     boolean hasPath(@NotNull String path);
 
+    /**
+     * Checks whether a value exists at the given pre-parsed path.
+     *
+     * @param path parsed key path
+     * @return true if a non-null value exists at the path
+     */
+    default boolean hasPath(@NotNull ConfigPath path) {
+        return get(path) != null;
+    }
+
     /**
      * Retrieves the immediate top-level keys in this config.
      *
@@ -136,6 +148,30 @@ public interface Config extends PlaceholderList {
     void set(@NotNull String path,
              @Nullable Object obj);
 
+    /**
+     * Retrieves the raw Java object stored at the given pre-parsed path.
+     *
+     * @param path parsed key path
+     * @return stored object or null
+     * @see #get(String)
+     */
+    @Nullable
+    default Object get(@NotNull ConfigPath path) {
+        return get(path.toString());
+    }
+
+    /**
+     * Sets a value at the given pre-parsed path.
+     *
+     * @param path parsed key path
+     * @param obj  value to set or null to remove
+     * @see #set(String, Object)
+     */
+    default void set(@NotNull ConfigPath path,
+                     @Nullable Object obj) {
+        set(path.toString(), obj);
+    }
+
 
     // =================== Getters for Primitives ===================
 
@@ -310,6 +346,42 @@ public interface Config extends PlaceholderList {
     @Nullable
     List<Integer> getIntListOrNull(@NotNull String path);
 
+    /**
+     * Retrieves the values of a numeric list at the specified path as {@code int[]}.
+     * If the path does not exist or is not a list of numeric values,
+     * returns an empty array.
+     *
+     * @param path dot-delimited key path (e.g. "section.key")
+     * @return non-null {@code int[]} (possibly empty)
+     */
+    @NotNull
+    default int[] getIntArray(@NotNull String path) {
+        int[] array = getIntArrayOrNull(path);
+        return array != null ? array : new int[0];
+    }
+
+    /**
+     * Retrieves the values of a numeric list at the specified path as {@code int[]},
+     * or {@code null} if the path is missing or not a list of numeric values.
+     * <p>
+     * Unlike {@link #getIntListOrNull(String)}, no value is boxed.
+     *
+     * @param path dot-delimited key path (e.g. "section.key")
+     * @return {@code int[]} or {@code null}
+     */
+    @Nullable
+    default int[] getIntArrayOrNull(@NotNull String path) {
+        List<Integer> list = getIntListOrNull(path);
+        if (list == null) {
+            return null;
+        }
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
 
     /**
      * Retrieves a {@code long} value at the given path, or {@code 0L} if the path
@@ -367,6 +439,42 @@ public interface Config extends PlaceholderList {
     @Nullable
     List<Long> getLongListOrNull(@NotNull String path);
 
+    /**
+     * Retrieves the values of a numeric list at the specified path as {@code long[]}.
+     * If the path does not exist or is not a list of numeric values,
+     * returns an empty array.
+     *
+     * @param path dot-delimited key path (e.g. "section.key")
+     * @return non-null {@code long[]} (possibly empty)
+     */
+    @NotNull
+    default long[] getLongArray(@NotNull String path) {
+        long[] array = getLongArrayOrNull(path);
+        return array != null ? array : new long[0];
+    }
+
+    /**
+     * Retrieves the values of a numeric list at the specified path as {@code long[]},
+     * or {@code null} if the path is missing or not a list of numeric values.
+     * <p>
+     * Unlike {@link #getLongListOrNull(String)}, no value is boxed.
+     *
+     * @param path dot-delimited key path (e.g. "section.key")
+     * @return {@code long[]} or {@code null}
+     */
+    @Nullable
+    default long[] getLongArrayOrNull(@NotNull String path) {
+        List<Long> list = getLongListOrNull(path);
+        if (list == null) {
+            return null;
+        }
+        long[] array = new long[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
 
     /**
      * Retrieves a {@code float} value at the given path, or {@code 0.0f} if the path
@@ -479,6 +587,42 @@ public interface Config extends PlaceholderList {
     @Nullable
     List<Double> getDoubleListOrNull(@NotNull String path);
 
+    /**
+     * Retrieves the values of a numeric list at the specified path as {@code double[]}.
+     * If the path does not exist or is not a list of numeric values,
+     * returns an empty array.
+     *
+     * @param path dot-delimited key path (e.g. "section.key")
+     * @return non-null {@code double[]} (possibly empty)
+     */
+    @NotNull
+    default double[] getDoubleArray(@NotNull String path) {
+        double[] array = getDoubleArrayOrNull(path);
+        return array != null ? array : new double[0];
+    }
+
+    /**
+     * Retrieves the values of a numeric list at the specified path as {@code double[]},
+     * or {@code null} if the path is missing or not a list of numeric values.
+     * <p>
+     * Unlike {@link #getDoubleListOrNull(String)}, no value is boxed.
+     *
+     * @param path dot-delimited key path (e.g. "section.key")
+     * @return {@code double[]} or {@code null}
+     */
+    @Nullable
+    default double[] getDoubleArrayOrNull(@NotNull String path) {
+        List<Double> list = getDoubleListOrNull(path);
+        if (list == null) {
+            return null;
+        }
+        double[] array = new double[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
 
     /**
      * Retrieves a {@code boolean} value at the given path, or {@code false}
@@ -648,14 +792,33 @@ public interface Config extends PlaceholderList {
     @Nullable
     default String getFormattedStringOrNull(@NotNull String path,
                                             @Nullable PlaceholderContext context){
+        CompiledTemplate template = getTemplateOrNull(path);
+        if(template == null) return null;
+        if(!template.hasPlaceholders()) return template.getSource();
+        return template.render(
+                getConfigOwner().getPlaceholderHandler().orElse(PlaceholderHandler.EMPTY),
+                context != null ? context.withContext(this) :
+                        new PlaceholderContext(this)
+        );
+    }
+
+    /**
+     * Retrieves the string at the given path, with color codes applied
+     * (if supported), compiled into a {@link CompiledTemplate}.
+     * Used by {@link #getFormattedStringOrNull(String, PlaceholderContext)}.
+     * <p>
+     * Implementations may cache the template until the value at the path changes.
+     *
+     * @param path dot-delimited key path (e.g. "section.key")
+     * @return the template, or null when missing
+     */
+    @Nullable
+    default CompiledTemplate getTemplateOrNull(@NotNull String path){
         String text = getStringOrNull(path);
         if(text == null) return null;
-        return StringUtils.formatWithPlaceholders(
-                getConfigOwner(),
+        return CompiledTemplate.compile(
                 getConfigOwner().supportsColorCodes()?
-                        StringUtils.formatColorCodes(text) : text,
-                context != null ? context.withContext(this) :
-                        new PlaceholderContext(this)
+                        StringUtils.formatColorCodes(text) : text
         );
     }
 
@@ -711,24 +874,264 @@ public interface Config extends PlaceholderList {
                                                       @Nullable PlaceholderContext context){
         List<String> list = getStringListOrNull(path);
         if(list == null) return null;
-        if(context == null){
-            return StringUtils.formatWithPlaceholders(
-                    getConfigOwner(),
-                    getConfigOwner().supportsColorCodes()?
-                            StringUtils.formatColorCodes(list) : list,
-                    new PlaceholderContext(this)
-            );
-        }
         return StringUtils.formatWithPlaceholders(
                 getConfigOwner(),
                 getConfigOwner().supportsColorCodes()?
                         StringUtils.formatColorCodes(list) : list,
-                context.withContext(this)
+                context != null ? context.withContext(this) :
+                        new PlaceholderContext(this)
         );
     }
 
 
 
+    // =================== Getters for Parsed Paths ===================
+
+
+
+    /**
+     * Retrieves an {@code int} value at the given pre-parsed path,
+     * or {@code 0} if the path is missing or the stored value is invalid.
+     *
+     * @param path parsed key path
+     * @return the primitive value, or {@code 0} when missing or invalid
+     * @see #getInt(String)
+     */
+    default int getInt(@NotNull ConfigPath path) {
+        return Objects.requireNonNullElse(getIntOrNull(path), 0);
+    }
+
+    /**
+     * Retrieves an {@code int} value at the given pre-parsed path,
+     * or returns the supplied default if the path is missing or the value is invalid.
+     *
+     * @param path parsed key path
+     * @param def  default value to return when missing or invalid
+     * @return the value, or {@code def} on missing or invalid data
+     * @see #getIntOrDefault(String, int)
+     */
+    default int getIntOrDefault(@NotNull ConfigPath path, int def) {
+        return Objects.requireNonNullElse(getIntOrNull(path), def);
+    }
+
+    /**
+     * Retrieves a boxed {@link Integer} at the given pre-parsed path.
+     *
+     * @param path parsed key path
+     * @return an {@code Integer} if present and valid, otherwise {@code null}
+     * @see #getIntOrNull(String)
+     */
+    @Nullable
+    default Integer getIntOrNull(@NotNull ConfigPath path) {
+        return getIntOrNull(path.toString());
+    }
+
+
+    /**
+     * Retrieves a {@code long} value at the given pre-parsed path,
+     * or {@code 0L} if the path is missing or the stored value is invalid.
+     *
+     * @param path parsed key path
+     * @return the primitive value, or {@code 0L} when missing or invalid
+     * @see #getLong(String)
+     */
+    default long getLong(@NotNull ConfigPath path) {
+        return Objects.requireNonNullElse(getLongOrNull(path), 0L);
+    }
+
+    /**
+     * Retrieves a {@code long} value at the given pre-parsed path,
+     * or returns the supplied default if the path is missing or the value is invalid.
+     *
+     * @param path parsed key path
+     * @param def  default value to return when missing or invalid
+     * @return the value, or {@code def} on missing or invalid data
+     * @see #getLongOrDefault(String, long)
+     */
+    default long getLongOrDefault(@NotNull ConfigPath path, long def) {
+        return Objects.requireNonNullElse(getLongOrNull(path), def);
+    }
+
+    /**
+     * Retrieves a boxed {@link Long} at the given pre-parsed path.
+     *
+     * @param path parsed key path
+     * @return a {@code Long} if present and valid, otherwise {@code null}
+     * @see #getLongOrNull(String)
+     */
+    @Nullable
+    default Long getLongOrNull(@NotNull ConfigPath path) {
+        return getLongOrNull(path.toString());
+    }
+
+
+    /**
+     * Retrieves a {@code float} value at the given pre-parsed path,
+     * or {@code 0.0f} if the path is missing or the stored value is invalid.
+     *
+     * @param path parsed key path
+     * @return the primitive value, or {@code 0.0f} when missing or invalid
+     * @see #getFloat(String)
+     */
+    default float getFloat(@NotNull ConfigPath path) {
+        return Objects.requireNonNullElse(getFloatOrNull(path), 0.0f);
+    }
+
+    /**
+     * Retrieves a {@code float} value at the given pre-parsed path,
+     * or returns the supplied default if the path is missing or the value is invalid.
+     *
+     * @param path parsed key path
+     * @param def  default value to return when missing or invalid
+     * @return the value, or {@code def} on missing or invalid data
+     * @see #getFloatOrDefault(String, float)
+     */
+    default float getFloatOrDefault(@NotNull ConfigPath path, float def) {
+        return Objects.requireNonNullElse(getFloatOrNull(path), def);
+    }
+
+    /**
+     * Retrieves a boxed {@link Float} at the given pre-parsed path.
+     *
+     * @param path parsed key path
+     * @return a {@code Float} if present and valid, otherwise {@code null}
+     * @see #getFloatOrNull(String)
+     */
+    @Nullable
+    default Float getFloatOrNull(@NotNull ConfigPath path) {
+        return getFloatOrNull(path.toString());
+    }
+
+
+    /**
+     * Retrieves a {@code double} value at the given pre-parsed path,
+     * or {@code 0.0} if the path is missing or the stored value is invalid.
+     *
+     * @param path parsed key path
+     * @return the primitive value, or {@code 0.0} when missing or invalid
+     * @see #getDouble(String)
+     */
+    default double getDouble(@NotNull ConfigPath path) {
+        return Objects.requireNonNullElse(getDoubleOrNull(path), 0.0);
+    }
+
+    /**
+     * Retrieves a {@code double} value at the given pre-parsed path,
+     * or returns the supplied default if the path is missing or the value is invalid.
+     *
+     * @param path parsed key path
+     * @param def  default value to return when missing or invalid
+     * @return the value, or {@code def} on missing or invalid data
+     * @see #getDoubleOrDefault(String, double)
+     */
+    default double getDoubleOrDefault(@NotNull ConfigPath path, double def) {
+        return Objects.requireNonNullElse(getDoubleOrNull(path), def);
+    }
+
+    /**
+     * Retrieves a boxed {@link Double} at the given pre-parsed path.
+     *
+     * @param path parsed key path
+     * @return a {@code Double} if present and valid, otherwise {@code null}
+     * @see #getDoubleOrNull(String)
+     */
+    @Nullable
+    default Double getDoubleOrNull(@NotNull ConfigPath path) {
+        return getDoubleOrNull(path.toString());
+    }
+
+
+    /**
+     * Retrieves a {@code boolean} value at the given pre-parsed path,
+     * or {@code false} if the path is missing or the stored value is invalid.
+     *
+     * @param path parsed key path
+     * @return the primitive value, or {@code false} when missing or invalid
+     * @see #getBool(String)
+     */
+    default boolean getBool(@NotNull ConfigPath path) {
+        return Objects.requireNonNullElse(getBoolOrNull(path), false);
+    }
+
+    /**
+     * Retrieves a {@code boolean} value at the given pre-parsed path,
+     * or returns the supplied default if the path is missing or the value is invalid.
+     *
+     * @param path parsed key path
+     * @param def  default value to return when missing or invalid
+     * @return the value, or {@code def} on missing or invalid data
+     * @see #getBoolOrDefault(String, boolean)
+     */
+    default boolean getBoolOrDefault(@NotNull ConfigPath path, boolean def) {
+        return Objects.requireNonNullElse(getBoolOrNull(path), def);
+    }
+
+    /**
+     * Retrieves a boxed {@link Boolean} at the given pre-parsed path.
+     *
+     * @param path parsed key path
+     * @return a {@code Boolean} if present and valid, otherwise {@code null}
+     * @see #getBoolOrNull(String)
+     */
+    @Nullable
+    default Boolean getBoolOrNull(@NotNull ConfigPath path) {
+        return getBoolOrNull(path.toString());
+    }
+
+
+    /**
+     * Retrieves a non-null {@link String} value at the given pre-parsed path,
+     * or an empty string if the path is missing.
+     *
+     * @param path parsed key path
+     * @return the string value, or "" when missing/null
+     * @see #getString(String)
+     */
+    @NotNull
+    default String getString(@NotNull ConfigPath path) {
+        return getStringOrDefault(path, "");
+    }
+
+    /**
+     * Retrieves a non-null {@link String} value at the given pre-parsed path,
+     * or returns the supplied default if the path is missing.
+     *
+     * @param path parsed key path
+     * @param def  default string to return when missing/null
+     * @return the string value, or {@code def} when missing/null
+     * @see #getStringOrDefault(String, String)
+     */
+    @NotNull
+    default String getStringOrDefault(@NotNull ConfigPath path, @NotNull String def) {
+        return Objects.requireNonNullElse(getStringOrNull(path), def);
+    }
+
+    /**
+     * Retrieves a {@link String} value at the given pre-parsed path.
+     *
+     * @param path parsed key path
+     * @return the string value, or {@code null} if missing
+     * @see #getStringOrNull(String)
+     */
+    @Nullable
+    default String getStringOrNull(@NotNull ConfigPath path) {
+        return getStringOrNull(path.toString());
+    }
+
+    /**
+     * Retrieves a nested subsection at the given pre-parsed path, if present.
+     *
+     * @param path parsed key path
+     * @return the {@link Config} subsection, or null if none exists or value is not a subsection
+     * @see #getSubsectionOrNull(String)
+     */
+    @Nullable
+    default Config getSubsectionOrNull(@NotNull ConfigPath path) {
+        return getSubsectionOrNull(path.toString());
+    }
+
+
+
     // =================== Special Getters ===================
 
 
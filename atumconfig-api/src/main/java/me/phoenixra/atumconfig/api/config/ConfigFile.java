@@ -42,6 +42,49 @@ public interface ConfigFile extends Config {
      */
     void save() throws IOException;
 
+    /**
+     * Writes the in-memory values to disk now if they changed since
+     * they were last loaded or written. Does nothing otherwise.
+     * <p>
+     * The default implementation cannot tell whether the values changed
+     * and always {@link #save() saves}.
+     *
+     * @throws IOException if an error occurs writing the file
+     */
+    default void flush() throws IOException {
+        save();
+    }
+
+    /**
+     * Indicates whether this file is in write-behind mode.
+     *
+     * @return true if changes are written in the background, false by default
+     * @see #setWriteBehind(boolean)
+     */
+    default boolean isWriteBehind() {
+        return false;
+    }
+
+    /**
+     * Enables or disables write-behind mode.
+     * <p>
+     * In write-behind mode every change, as well as {@link #save()},
+     * schedules a write on a background thread of the manager. Changes made
+     * until the write runs are written together, so the file is serialized
+     * and written at most once per write-behind delay of the manager.
+     * Use {@link #flush()} or {@link me.phoenixra.atumconfig.api.ConfigManager#flushAll()}
+     * to write pending changes immediately.
+     * <p>
+     * Writes scheduled before disabling still run.
+     *
+     * @param writeBehind true to write changes in the background
+     * @throws UnsupportedOperationException if the file does not support write-behind mode,
+     *                                       which is the default
+     */
+    default void setWriteBehind(boolean writeBehind) {
+        throw new UnsupportedOperationException("write-behind is not supported by " + getClass().getName());
+    }
+
     /**
      * Returns the path to this file, relative to the configuration root
      * directory managed by the {@link me.phoenixra.atumconfig.api.ConfigManager}.
@@ -0,0 +1,61 @@
+package me.phoenixra.atumconfig.api.config;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ * Reads and writes config files of a format that is not built in,
+ * such as TOML or properties files.
+ * <p>
+ * A format is registered on a manager under a file extension with
+ * {@link me.phoenixra.atumconfig.api.ConfigManager#addConfigFormat(String, ConfigFormat)}.
+ * Files with that extension are then read and written with the format, and their configs
+ * have the format's {@link #getType() type}: catalogs of that type include the files
+ * and {@link ConfigType#fromFile(java.io.File, me.phoenixra.atumconfig.api.ConfigManager)}
+ * returns that type for them.
+ * <p>
+ * Implementations must be thread-safe.
+ */
+public interface ConfigFormat {
+
+    /**
+     * The type of the configs read from files of this format.
+     * Catalogs of this type include the files of this format.
+     *
+     * @return non-null config type
+     */
+    @NotNull
+    ConfigType getType();
+
+    /**
+     * Parses the content of a file.
+     *
+     * @param content the file content, never empty
+     * @return non-null map of the values, made of nested maps, lists,
+     * strings, numbers and booleans
+     * @throws IllegalArgumentException if the content is malformed
+     */
+    @NotNull
+    Map<String, Object> read(byte[] content);
+
+    /**
+     * Serializes values to the content of a file.
+     *
+     * @param values the values, made of nested maps, lists,
+     *               strings, numbers and booleans
+     * @return non-null file content
+     */
+    byte[] write(@NotNull Map<String, Object> values);
+
+    /**
+     * Whether the format is binary. The text form of configs of binary formats,
+     * as returned by {@link Config#toPlaintext()}, is Base64,
+     * while text formats are read and written as UTF-8.
+     *
+     * @return true for binary formats, false by default
+     */
+    default boolean isBinary() {
+        return false;
+    }
+}
@@ -48,4 +48,19 @@ public interface ConfigParser<T> {
     @NotNull
     Class<T> getClassParsed();
 
+    /**
+     * Whether the objects returned by {@link #fromConfig(Config)} are immutable
+     * and depend only on the given config, so one object can be shared by all readers.
+     * <p>
+     * If true, {@link Config#getParsedOrNull(String, Class)} and
+     * {@link Config#getParsedListOrNull(String, Class)} keep the parsed object
+     * of each section and return it again until the section
+     * or any of its subsections is modified or reloaded.
+     *
+     * @return true if results can be cached and shared, false by default
+     */
+    default boolean isResultImmutable() {
+        return false;
+    }
+
 }
@@ -0,0 +1,211 @@
+package me.phoenixra.atumconfig.api.config;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A pre-parsed, dot-delimited path into a {@link Config} tree (e.g. {@code "section.key"}).
+ * <p>
+ * Parsing a path splits it into its segments once, so a {@code ConfigPath}
+ * kept in a constant can be reused for any number of lookups without
+ * re-splitting the string. Instances are immutable and thread-safe.
+ * <p>
+ * String-based {@link Config} methods resolve their paths through
+ * {@link #of(String)}, which keeps a bounded cache of recently parsed paths.
+ */
+public final class ConfigPath {
+
+    /**
+     * The separator between path segments.
+     */
+    public static final char SEPARATOR = '.';
+
+    /**
+     * Maximum amount of paths kept by {@link #of(String)}.
+     * When exceeded, the cache is cleared and starts over.
+     */
+    public static final int CACHE_SIZE = 4096;
+
+    private static final Map<String, ConfigPath> CACHE = new ConcurrentHashMap<>();
+
+    private final String path;
+    private final String[] segments;
+    private final int offset;
+    private final int hash;
+
+    private ConfigPath(@NotNull String path, @NotNull String[] segments, int offset) {
+        this.path = path;
+        this.segments = segments;
+        this.offset = offset;
+        this.hash = path.hashCode();
+    }
+
+    /**
+     * Returns the parsed form of the given path, reusing a cached
+     * instance when the same string has been parsed recently.
+     *
+     * @param path dot-delimited key path (e.g. "section.key")
+     * @return non-null parsed path
+     */
+    @NotNull
+    public static ConfigPath of(@NotNull String path) {
+        ConfigPath cached = CACHE.get(path);
+        if (cached != null) {
+            return cached;
+        }
+        ConfigPath parsed = parse(path);
+        if (CACHE.size() >= CACHE_SIZE) {
+            CACHE.clear();
+        }
+        CACHE.put(path, parsed);
+        return parsed;
+    }
+
+    /**
+     * Parses the given path without consulting the cache.
+     * <p>
+     * Intended for paths stored in constants, which do not need
+     * to occupy a slot in the shared cache.
+     *
+     * @param path dot-delimited key path (e.g. "section.key")
+     * @return non-null parsed path
+     */
+    @NotNull
+    public static ConfigPath parse(@NotNull String path) {
+        List<String> list = new ArrayList<>(4);
+        int start = 0;
+        for (int i = 0; i < path.length(); i++) {
+            if (path.charAt(i) == SEPARATOR) {
+                list.add(path.substring(start, i));
+                start = i + 1;
+            }
+        }
+        list.add(path.substring(start));
+        return new ConfigPath(path, list.toArray(new String[0]), 0);
+    }
+
+    /**
+     * Returns the number of segments in this path.
+     *
+     * @return segment count, at least 1
+     */
+    public int size() {
+        return segments.length - offset;
+    }
+
+    /**
+     * Returns the segment at the given index.
+     *
+     * @param index zero-based segment index
+     * @return non-null segment (may be empty)
+     */
+    @NotNull
+    public String segment(int index) {
+        return segments[offset + index];
+    }
+
+    /**
+     * Returns the first segment of this path.
+     *
+     * @return non-null first segment
+     */
+    @NotNull
+    public String first() {
+        return segments[offset];
+    }
+
+    /**
+     * Returns the last segment of this path, i.e. the key
+     * of the addressed value inside its parent section.
+     *
+     * @return non-null last segment
+     */
+    @NotNull
+    public String last() {
+        return segments[segments.length - 1];
+    }
+
+    /**
+     * Indicates whether this path consists of a single segment.
+     *
+     * @return true if there is no separator in the path
+     */
+    public boolean isSimple() {
+        return size() == 1;
+    }
+
+    /**
+     * Indicates whether this path addresses a value at all.
+     * Paths ending with a separator (e.g. {@code "section."}) do not.
+     *
+     * @return true if the last segment is non-empty or the path is simple
+     */
+    public boolean isAddressable() {
+        return isSimple() || !last().isEmpty();
+    }
+
+    /**
+     * Returns the path made of the segments after the first {@code count} ones.
+     * The returned path shares the parsed segments of this one.
+     *
+     * @param count amount of leading segments to drop
+     * @return non-null remaining path
+     */
+    @NotNull
+    public ConfigPath subPath(int count) {
+        if (count == 0) {
+            return this;
+        }
+        if (count >= size()) {
+            throw new IndexOutOfBoundsException("Cannot drop " + count + " segments of '" + path + "'");
+        }
+        int from = offset + count;
+        StringBuilder builder = new StringBuilder(path.length());
+        for (int i = from; i < segments.length; i++) {
+            if (i > from) builder.append(SEPARATOR);
+            builder.append(segments[i]);
+        }
+        return new ConfigPath(builder.toString(), segments, from);
+    }
+
+    /**
+     * Returns a list view of the segments of this path.
+     *
+     * @return non-null unmodifiable list of segments
+     */
+    @NotNull
+    public List<String> getSegments() {
+        return Collections.unmodifiableList(
+                Arrays.asList(segments).subList(offset, segments.length)
+        );
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ConfigPath)) return false;
+        ConfigPath that = (ConfigPath) o;
+        return hash == that.hash && path.equals(that.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * Returns the dot-delimited form of this path.
+     *
+     * @return non-null path string
+     */
+    @Override
+    public String toString() {
+        return path;
+    }
+}
@@ -1,10 +1,12 @@
 package me.phoenixra.atumconfig.api.config;
 
 import lombok.Getter;
+import me.phoenixra.atumconfig.api.ConfigManager;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.util.Optional;
 
 /**
  * Represents supported configuration file formats,
@@ -20,7 +22,15 @@ public enum ConfigType {
     /**
      * YAML format (files ending with <code>.yml</code>).
      */
-    YAML("yml");
+    YAML("yml"),
+
+    /**
+     * Compact binary format (files ending with <code>.bin</code>),
+     * for configs written by programs rather than edited by hand.
+     * Files are read and written without text parsing
+     * and are several times smaller than the text formats.
+     */
+    BINARY("bin");
 
 
     /**
@@ -38,24 +48,66 @@ public enum ConfigType {
      * Determines the {@link ConfigType} based on the extension of the given file's name.
      * <p>
      * Matches the text after the last dot. If it equals <code>"yml"</code>, returns {@link #YAML}.
-     * If it equals <code>"json"</code>, returns {@link #JSON}. Otherwise, returns <code>null</code>
+     * If it equals <code>"json"</code>, returns {@link #JSON}.
+     * If it equals <code>"bin"</code>, returns {@link #BINARY}. Otherwise, returns <code>null</code>.
+     * Formats registered on managers are not considered, see {@link #fromFile(File, ConfigManager)}.
      *
      * @param file the file whose extension will be inspected
      * @return the matching ConfigType, or <code>null</code> if no known extension is found
      */
     @Nullable
     public static ConfigType fromFile(File file) {
-        String name = file.getName();
-        String[] parts = name.split("\\.");
-        String ext = parts.length > 1 ? parts[parts.length - 1] : "";
-        switch (ext) {
+        return fromExtension(extensionOf(file), null);
+    }
+
+    /**
+     * Determines the {@link ConfigType} of the given file for a manager, taking the
+     * {@link ConfigManager#addConfigFormat(String, ConfigFormat) formats registered} on it into account.
+     * <p>
+     * Matches the text after the last dot, like {@link #fromFile(File)}.
+     *
+     * @param file    the file whose extension will be inspected
+     * @param manager the manager whose formats are considered
+     * @return the type of the format registered for the extension, else the built-in type
+     * with that extension, or <code>null</code> if there is neither
+     */
+    @Nullable
+    public static ConfigType fromFile(@NotNull File file, @NotNull ConfigManager manager) {
+        return fromExtension(extensionOf(file), manager);
+    }
+
+    /**
+     * Determines the {@link ConfigType} of files with the given extension.
+     *
+     * @param extension the extension without the leading dot
+     * @param manager   the manager whose {@link ConfigManager#addConfigFormat(String, ConfigFormat)
+     *                  registered formats} are considered, or null for built-in types only
+     * @return the type of the format registered for the extension, else the built-in type
+     * with that extension, or <code>null</code> if there is neither
+     */
+    @Nullable
+    public static ConfigType fromExtension(@NotNull String extension, @Nullable ConfigManager manager) {
+        if (manager != null) {
+            Optional<ConfigFormat> format = manager.getConfigFormat(extension);
+            if (format.isPresent()) {
+                return format.get().getType();
+            }
+        }
+        switch (extension) {
             case "yml":
                 return YAML;
             case "json":
                 return JSON;
+            case "bin":
+                return BINARY;
             default:
                 return null;
         }
     }
 
+    private static @NotNull String extensionOf(@NotNull File file) {
+        String[] parts = file.getName().split("\\.");
+        return parts.length > 1 ? parts[parts.length - 1] : "";
+    }
+
 }
@@ -0,0 +1,19 @@
+package me.phoenixra.atumconfig.api.config.catalog;
+
+/**
+ * Order in which a parallel catalog reload delivers
+ * {@link ConfigCatalogListener} callbacks for individual config files.
+ */
+public enum CatalogCallbackOrder {
+    /**
+     * Callbacks are delivered sorted by config id,
+     * each one as soon as all the files before it are parsed.
+     * The order is the same on every reload.
+     */
+    SORTED,
+    /**
+     * Callbacks are delivered as soon as each file is parsed.
+     * The order may differ between reloads.
+     */
+    COMPLETION
+}
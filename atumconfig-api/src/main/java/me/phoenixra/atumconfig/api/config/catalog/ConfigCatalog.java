@@ -8,6 +8,7 @@ import org.jetbrains.annotations.NotNull;
 import java.nio.file.Path;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 /**
  * Represents a collection of configuration
@@ -25,6 +26,8 @@ public interface ConfigCatalog {
 
     /**
      * Returns the type of configurations in this catalog.
+     * The catalog includes the files with the extension of the type and the files of
+     * {@link me.phoenixra.atumconfig.api.ConfigManager#addConfigFormat formats registered} for the type.
      *
      * @return a non-null {@link ConfigType}
      */
@@ -98,4 +101,78 @@ public interface ConfigCatalog {
      * and loads new from disk or resources if not found on disk
      */
     void reload();
+
+    /**
+     * Reloads only what changed on disk since the last reload, keeping
+     * the loaded {@link ConfigFile} instances of unchanged files.
+     * <p>
+     * New files are loaded ({@link ConfigCatalogListener#onConfigLoaded}),
+     * changed files are reloaded in place ({@link ConfigCatalogListener#onConfigChanged})
+     * and configs of deleted files are dropped ({@link ConfigCatalogListener#onConfigRemoved}).
+     * {@link ConfigCatalogListener#onClear} is not called.
+     * <p>
+     * A file counts as changed when its last-modified time or size differ,
+     * or, with {@link #isContentHashing() content hashing}, when its content differs.
+     * Configs with unsaved changes keep their values, and files holding
+     * what their config last saved are not reloaded.
+     * If the catalog directory does not exist, this falls back to {@link #reload()}.
+     * <p>
+     * The default implementation reloads everything with {@link #reload()}.
+     */
+    default void reloadIncremental() {
+        reload();
+    }
+
+    /**
+     * Indicates whether {@link #reloadIncremental()} compares file contents
+     * by hash instead of trusting last-modified times.
+     *
+     * @return {@code true} if file contents are hashed, false by default
+     */
+    default boolean isContentHashing() {
+        return false;
+    }
+
+    /**
+     * Sets whether file contents are hashed to detect changes.
+     * Hashing reads every file on each incremental reload, but also catches
+     * edits that keep the size within the timestamp resolution of the file system,
+     * and ignores files that were only touched.
+     *
+     * @param contentHashing {@code true} to hash file contents
+     * @throws UnsupportedOperationException if the catalog does not support content hashing,
+     *                                       which is the default
+     */
+    default void setContentHashing(boolean contentHashing) {
+        throw new UnsupportedOperationException("content hashing is not supported by " + getClass().getName());
+    }
+
+    /**
+     * Same as {@link #reload()}, but parses the config files concurrently
+     * using the given executor.
+     * <p>
+     * Listener callbacks are still delivered on the calling thread,
+     * in the given order, and this method returns once all files are processed.
+     *
+     * <p>
+     * The default implementation reloads sequentially with {@link #reload()}.
+     *
+     * @param executor executor that parses the files
+     * @param order    order of the per-file listener callbacks
+     */
+    default void reload(@NotNull Executor executor, @NotNull CatalogCallbackOrder order) {
+        reload();
+    }
+
+    /**
+     * Same as {@link #reload()}, but parses the config files concurrently
+     * on a temporary pool of the given amount of threads.
+     *
+     * @param parallelism amount of threads parsing the files, at least 1
+     * @param order       order of the per-file listener callbacks
+     * @see #reload(Executor, CatalogCallbackOrder)
+     */
+    default void reload(int parallelism, @NotNull CatalogCallbackOrder order) {
+        reload();
+    }
 }
@@ -31,6 +31,30 @@ public interface ConfigCatalogListener {
      */
     void onConfigLoaded(@NotNull ConfigCatalog catalog, @NotNull ConfigFile config);
 
+    /**
+     * Called during {@link ConfigCatalog#reloadIncremental()} when an already
+     * loaded config file has changed on disk and was reloaded in place.
+     * <p>
+     * Default implementation delegates to {@link #onConfigLoaded(ConfigCatalog, ConfigFile)}.
+     *
+     * @param catalog the listening catalog
+     * @param config the {@code ConfigFile} that was reloaded
+     */
+    default void onConfigChanged(@NotNull ConfigCatalog catalog, @NotNull ConfigFile config) {
+        onConfigLoaded(catalog, config);
+    }
+
+    /**
+     * Called during {@link ConfigCatalog#reloadIncremental()} when the file
+     * of a loaded config no longer exists and the config was removed from the catalog.
+     * <p>
+     * Default implementation is a no-op.
+     *
+     * @param catalog the listening catalog
+     * @param config the {@code ConfigFile} that was removed
+     */
+    default void onConfigRemoved(@NotNull ConfigCatalog catalog, @NotNull ConfigFile config) {}
+
     /**
      * Called when a config file fails to load due to an error.
      * <p>
@@ -0,0 +1,507 @@
+package me.phoenixra.atumconfig.api.config.parsers;
+
+import me.phoenixra.atumconfig.api.config.Config;
+import me.phoenixra.atumconfig.api.config.ConfigParser;
+import me.phoenixra.atumconfig.api.config.ConfigPath;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A {@link ConfigParser} binding the {@link ConfigKey}-annotated fields
+ * of a class to config values, instead of a hand-written parser.
+ * <pre>{@code
+ * public class Item {
+ *     private @ConfigKey String id;
+ *     private @ConfigKey("stats.damage") int damage;
+ *     private @ConfigKey(optional = true) boolean enabled = true;
+ * }
+ * manager.addConfigParser(BoundConfigParser.of(Item.class));
+ * }</pre>
+ * The class is inspected once, when the parser is created, into a plan grouping
+ * the fields by section, with pre-parsed keys and method handles setting the fields,
+ * typed for primitive fields so numbers are not boxed again. Parsing an object
+ * then visits every section once, looking up its keys directly,
+ * so no deep path is resolved and no path index is built for the config.
+ * <p>
+ * Supported field types are primitives (except {@code char}) and their wrappers,
+ * strings, enums (by name), lists and configs, stored as they are in the config,
+ * and types with a parser registered on the manager of the parsed config.
+ * Fields of other types receive the stored value if it is an instance of their type.
+ * <p>
+ * The class needs a constructor without parameters, and the bound fields must not be final.
+ * Instances are thread-safe.
+ *
+ * @param <T> the bound class
+ */
+public final class BoundConfigParser<T> implements ConfigParser<T> {
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final Binding[] bindings;
+    private final Section plan;
+
+    private BoundConfigParser(@NotNull Class<T> type,
+                              @NotNull MethodHandle constructor,
+                              @NotNull Binding[] bindings) {
+        this.type = type;
+        this.constructor = constructor;
+        this.bindings = bindings;
+        this.plan = Section.of(bindings, 0);
+    }
+
+    /**
+     * Creates a parser for the {@link ConfigKey}-annotated fields
+     * of the class and its superclasses.
+     *
+     * @param type the class to bind
+     * @param <T>  the bound class
+     * @return the parser, to be registered with
+     * {@link me.phoenixra.atumconfig.api.ConfigManager#addConfigParser(ConfigParser)}
+     * @throws IllegalArgumentException if the class has no annotated fields,
+     *                                  no constructor without parameters,
+     *                                  or annotated fields that cannot be bound
+     */
+    @NotNull
+    public static <T> BoundConfigParser<T> of(@NotNull Class<T> type) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle constructor;
+        try {
+            Constructor<T> noArgs = type.getDeclaredConstructor();
+            noArgs.setAccessible(true);
+            constructor = lookup.unreflectConstructor(noArgs).asType(CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException(type.getName() + " needs an accessible constructor without parameters", e);
+        }
+
+        List<Binding> bindings = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                ConfigKey key = field.getAnnotation(ConfigKey.class);
+                if (key != null) {
+                    bindings.add(bind(lookup, field, key));
+                }
+            }
+        }
+        if (bindings.isEmpty()) {
+            throw new IllegalArgumentException(type.getName() + " has no @ConfigKey fields");
+        }
+        return new BoundConfigParser<>(type, constructor, bindings.toArray(new Binding[0]));
+    }
+
+    @Override
+    public @Nullable Config toConfig(Object value, Config emptyConfig) {
+        if (!type.isInstance(value)) {
+            return null;
+        }
+        for (Binding binding : bindings) {
+            Object fieldValue = binding.get(value);
+            if (fieldValue instanceof Enum) {
+                fieldValue = ((Enum<?>) fieldValue).name();
+            }
+            if (fieldValue != null) {
+                emptyConfig.set(binding.path, fieldValue);
+            }
+        }
+        return emptyConfig;
+    }
+
+    /**
+     * Creates an instance and sets its bound fields.
+     *
+     * @param config the config containing serialized data
+     * @return the instance, or null if a required value is missing
+     * or a value cannot be converted to the type of its field
+     */
+    @Override
+    public @Nullable T fromConfig(Config config) {
+        Object instance;
+        try {
+            instance = (Object) constructor.invokeExact();
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+        return plan.read(config, instance) ? type.cast(instance) : null;
+    }
+
+    @Override
+    public @NotNull Class<T> getClassParsed() {
+        return type;
+    }
+
+    private static @NotNull Binding bind(@NotNull MethodHandles.Lookup lookup,
+                                         @NotNull Field field,
+                                         @NotNull ConfigKey key) {
+        String name = field.getDeclaringClass().getName() + "." + field.getName();
+        int modifiers = field.getModifiers();
+        if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers)) {
+            throw new IllegalArgumentException("@ConfigKey field " + name + " must not be static or final");
+        }
+        ConfigPath path = ConfigPath.parse(key.value().isEmpty() ? field.getName() : key.value());
+        if (!path.isAddressable()) {
+            throw new IllegalArgumentException("Invalid path '" + path + "' of @ConfigKey field " + name);
+        }
+        MethodHandle getter;
+        MethodHandle setter;
+        try {
+            field.setAccessible(true);
+            getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+            setter = lookup.unreflectSetter(field);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException("Cannot access @ConfigKey field " + name, e);
+        }
+
+        Class<?> fieldType = field.getType();
+        if (fieldType.isPrimitive()) {
+            MethodType setterType = MethodType.methodType(void.class, Object.class, fieldType);
+            setter = setter.asType(setterType);
+            if (fieldType == int.class) {
+                return new IntBinding(path, key.optional(), getter, setter);
+            } else if (fieldType == long.class) {
+                return new LongBinding(path, key.optional(), getter, setter);
+            } else if (fieldType == double.class) {
+                return new DoubleBinding(path, key.optional(), getter, setter);
+            } else if (fieldType == float.class) {
+                return new FloatBinding(path, key.optional(), getter, setter);
+            } else if (fieldType == boolean.class) {
+                return new BooleanBinding(path, key.optional(), getter, setter);
+            } else if (fieldType == short.class) {
+                return new ShortBinding(path, key.optional(), getter, setter);
+            } else if (fieldType == byte.class) {
+                return new ByteBinding(path, key.optional(), getter, setter);
+            }
+            throw new IllegalArgumentException("Unsupported type " + fieldType + " of @ConfigKey field " + name);
+        }
+        setter = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return new ObjectBinding(path, key.optional(), getter, setter, converter(fieldType));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static @NotNull Converter converter(@NotNull Class<?> fieldType) {
+        if (fieldType == Integer.class) {
+            return (config, raw) -> raw instanceof Number ? ((Number) raw).intValue() : null;
+        } else if (fieldType == Long.class) {
+            return (config, raw) -> raw instanceof Number ? ((Number) raw).longValue() : null;
+        } else if (fieldType == Double.class) {
+            return (config, raw) -> raw instanceof Number ? ((Number) raw).doubleValue() : null;
+        } else if (fieldType == Float.class) {
+            return (config, raw) -> raw instanceof Number ? ((Number) raw).floatValue() : null;
+        } else if (fieldType == Short.class) {
+            return (config, raw) -> raw instanceof Number ? ((Number) raw).shortValue() : null;
+        } else if (fieldType == Byte.class) {
+            return (config, raw) -> raw instanceof Number ? ((Number) raw).byteValue() : null;
+        } else if (fieldType == Boolean.class) {
+            return (config, raw) -> raw instanceof Boolean ? raw : null;
+        } else if (fieldType == String.class) {
+            return (config, raw) -> raw.toString();
+        } else if (fieldType.isEnum()) {
+            Class<? extends Enum> enumType = (Class<? extends Enum>) fieldType;
+            return (config, raw) -> {
+                try {
+                    return Enum.valueOf(enumType, raw.toString());
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+            };
+        }
+        // lists, configs and other fields take the stored value if it fits
+        return (config, raw) -> {
+            if (fieldType.isInstance(raw)) {
+                return raw;
+            }
+            if (!(raw instanceof Config)) {
+                return null;
+            }
+            Optional<? extends ConfigParser<?>> parser = config.getConfigOwner().getConfigParser(fieldType);
+            return parser.isPresent() ? parser.get().fromConfig((Config) raw) : null;
+        };
+    }
+
+    private static @NotNull RuntimeException rethrow(@NotNull Throwable e) {
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        throw new IllegalStateException(e);
+    }
+
+    @FunctionalInterface
+    private interface Converter {
+        @Nullable
+        Object convert(@NotNull Config config, @NotNull Object raw);
+    }
+
+    /**
+     * The bindings of the values in a section, and the sections below it.
+     */
+    private static final class Section {
+        /** the bindings of values in this section, with their keys in it */
+        private final Binding[] values;
+        private final ConfigPath[] valueKeys;
+        private final ConfigPath[] childKeys;
+        private final Section[] children;
+        /** whether a binding in this section or below is required */
+        private final boolean required;
+
+        private Section(Binding[] values, ConfigPath[] valueKeys, ConfigPath[] childKeys, Section[] children) {
+            this.values = values;
+            this.valueKeys = valueKeys;
+            this.childKeys = childKeys;
+            this.children = children;
+            boolean anyRequired = false;
+            for (Binding binding : values) {
+                anyRequired |= !binding.optional;
+            }
+            for (Section child : children) {
+                anyRequired |= child.required;
+            }
+            this.required = anyRequired;
+        }
+
+        /**
+         * Groups bindings whose paths share their first {@code depth} segments.
+         */
+        private static @NotNull Section of(@NotNull Binding[] bindings, int depth) {
+            List<Binding> values = new ArrayList<>();
+            List<ConfigPath> valueKeys = new ArrayList<>();
+            Map<String, List<Binding>> nested = new LinkedHashMap<>();
+            for (Binding binding : bindings) {
+                String segment = binding.path.segment(depth);
+                if (binding.path.size() == depth + 1) {
+                    values.add(binding);
+                    valueKeys.add(ConfigPath.parse(segment));
+                } else {
+                    nested.computeIfAbsent(segment, k -> new ArrayList<>()).add(binding);
+                }
+            }
+            ConfigPath[] childKeys = new ConfigPath[nested.size()];
+            Section[] children = new Section[nested.size()];
+            int i = 0;
+            for (Map.Entry<String, List<Binding>> entry : nested.entrySet()) {
+                childKeys[i] = ConfigPath.parse(entry.getKey());
+                children[i] = of(entry.getValue().toArray(new Binding[0]), depth + 1);
+                i++;
+            }
+            return new Section(
+                    values.toArray(new Binding[0]),
+                    valueKeys.toArray(new ConfigPath[0]),
+                    childKeys,
+                    children
+            );
+        }
+
+        /**
+         * Sets the fields bound to values of the section and below.
+         *
+         * @return false if a required value is missing or cannot be converted
+         */
+        private boolean read(@NotNull Config section, @NotNull Object instance) {
+            for (int i = 0; i < values.length; i++) {
+                Binding binding = values[i];
+                Object raw = section.get(valueKeys[i]);
+                if (raw == null) {
+                    if (binding.optional) {
+                        continue;
+                    }
+                    return false;
+                }
+                if (!binding.set(instance, section, raw)) {
+                    return false;
+                }
+            }
+            for (int i = 0; i < children.length; i++) {
+                Config child = section.getSubsectionOrNull(childKeys[i]);
+                if (child == null) {
+                    if (children[i].required) {
+                        return false;
+                    }
+                    continue;
+                }
+                if (!children[i].read(child, instance)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private abstract static class Binding {
+        final ConfigPath path;
+        final boolean optional;
+        /** (Object)Object */
+        private final MethodHandle getter;
+        /** (Object, field type)void */
+        final MethodHandle setter;
+
+        Binding(@NotNull ConfigPath path, boolean optional, @NotNull MethodHandle getter, @NotNull MethodHandle setter) {
+            this.path = path;
+            this.optional = optional;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Nullable
+        final Object get(@NotNull Object target) {
+            try {
+                return (Object) getter.invokeExact(target);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        /**
+         * Sets the field to the stored value.
+         *
+         * @return false if the value cannot be converted to the type of the field
+         */
+        final boolean set(@NotNull Object target, @NotNull Config config, @NotNull Object raw) {
+            try {
+                return apply(target, config, raw);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        abstract boolean apply(@NotNull Object target, @NotNull Config config, @NotNull Object raw) throws Throwable;
+    }
+
+    private static final class IntBinding extends Binding {
+        IntBinding(ConfigPath path, boolean optional, MethodHandle getter, MethodHandle setter) {
+            super(path, optional, getter, setter);
+        }
+
+        @Override
+        boolean apply(@NotNull Object target, @NotNull Config config, @NotNull Object raw) throws Throwable {
+            if (!(raw instanceof Number)) {
+                return false;
+            }
+            setter.invokeExact(target, ((Number) raw).intValue());
+            return true;
+        }
+    }
+
+    private static final class LongBinding extends Binding {
+        LongBinding(ConfigPath path, boolean optional, MethodHandle getter, MethodHandle setter) {
+            super(path, optional, getter, setter);
+        }
+
+        @Override
+        boolean apply(@NotNull Object target, @NotNull Config config, @NotNull Object raw) throws Throwable {
+            if (!(raw instanceof Number)) {
+                return false;
+            }
+            setter.invokeExact(target, ((Number) raw).longValue());
+            return true;
+        }
+    }
+
+    private static final class DoubleBinding extends Binding {
+        DoubleBinding(ConfigPath path, boolean optional, MethodHandle getter, MethodHandle setter) {
+            super(path, optional, getter, setter);
+        }
+
+        @Override
+        boolean apply(@NotNull Object target, @NotNull Config config, @NotNull Object raw) throws Throwable {
+            if (!(raw instanceof Number)) {
+                return false;
+            }
+            setter.invokeExact(target, ((Number) raw).doubleValue());
+            return true;
+        }
+    }
+
+    private static final class FloatBinding extends Binding {
+        FloatBinding(ConfigPath path, boolean optional, MethodHandle getter, MethodHandle setter) {
+            super(path, optional, getter, setter);
+        }
+
+        @Override
+        boolean apply(@NotNull Object target, @NotNull Config config, @NotNull Object raw) throws Throwable {
+            if (!(raw instanceof Number)) {
+                return false;
+            }
+            setter.invokeExact(target, ((Number) raw).floatValue());
+            return true;
+        }
+    }
+
+    private static final class ShortBinding extends Binding {
+        ShortBinding(ConfigPath path, boolean optional, MethodHandle getter, MethodHandle setter) {
+            super(path, optional, getter, setter);
+        }
+
+        @Override
+        boolean apply(@NotNull Object target, @NotNull Config config, @NotNull Object raw) throws Throwable {
+            if (!(raw instanceof Number)) {
+                return false;
+            }
+            setter.invokeExact(target, ((Number) raw).shortValue());
+            return true;
+        }
+    }
+
+    private static final class ByteBinding extends Binding {
+        ByteBinding(ConfigPath path, boolean optional, MethodHandle getter, MethodHandle setter) {
+            super(path, optional, getter, setter);
+        }
+
+        @Override
+        boolean apply(@NotNull Object target, @NotNull Config config, @NotNull Object raw) throws Throwable {
+            if (!(raw instanceof Number)) {
+                return false;
+            }
+            setter.invokeExact(target, ((Number) raw).byteValue());
+            return true;
+        }
+    }
+
+    private static final class BooleanBinding extends Binding {
+        BooleanBinding(ConfigPath path, boolean optional, MethodHandle getter, MethodHandle setter) {
+            super(path, optional, getter, setter);
+        }
+
+        @Override
+        boolean apply(@NotNull Object target, @NotNull Config config, @NotNull Object raw) throws Throwable {
+            if (!(raw instanceof Boolean)) {
+                return false;
+            }
+            setter.invokeExact(target, ((Boolean) raw).booleanValue());
+            return true;
+        }
+    }
+
+    private static final class ObjectBinding extends Binding {
+        private final Converter converter;
+
+        ObjectBinding(ConfigPath path, boolean optional, MethodHandle getter, MethodHandle setter,
+                      @NotNull Converter converter) {
+            super(path, optional, getter, setter);
+            this.converter = converter;
+        }
+
+        @Override
+        boolean apply(@NotNull Object target, @NotNull Config config, @NotNull Object raw) throws Throwable {
+            Object value = converter.convert(config, raw);
+            if (value == null) {
+                return false;
+            }
+            setter.invokeExact(target, value);
+            return true;
+        }
+    }
+}
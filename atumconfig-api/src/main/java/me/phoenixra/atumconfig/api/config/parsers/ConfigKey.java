@@ -0,0 +1,30 @@
+package me.phoenixra.atumconfig.api.config.parsers;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a field to a config value for {@link BoundConfigParser}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface ConfigKey {
+
+    /**
+     * The dot-delimited path of the value, relative to the parsed config.
+     *
+     * @return the path, or an empty string to use the field name
+     */
+    String value() default "";
+
+    /**
+     * Whether the value may be missing. A missing optional value leaves
+     * the field as initialized by the constructor, while a missing required
+     * value makes {@link BoundConfigParser#fromConfig} return null.
+     *
+     * @return true if the value is optional
+     */
+    boolean optional() default false;
+}
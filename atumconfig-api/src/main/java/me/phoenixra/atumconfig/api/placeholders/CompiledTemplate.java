@@ -0,0 +1,156 @@
+package me.phoenixra.atumconfig.api.placeholders;
+
+import me.phoenixra.atumconfig.api.placeholders.context.PlaceholderContext;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * A text parsed once into literal segments and placeholder slots,
+ * so it can be rendered repeatedly without scanning it again.
+ * <p>
+ * Rendering resolves each distinct placeholder once through
+ * {@link PlaceholderHandler#resolvePlaceholder(String, PlaceholderContext)}
+ * and writes the result into a single pre-sized buffer.
+ * Tokens without a value are kept as they are, like in
+ * {@link PlaceholderHandler#translatePlaceholders(String, PlaceholderContext)}.
+ * <p>
+ * Instances are immutable and thread-safe.
+ */
+public final class CompiledTemplate {
+    private final String source;
+    /** literal text before each slot, plus the text after the last one */
+    private final String[] literals;
+    /** for each slot, its index in {@link #tokens} */
+    private final int[] slots;
+    /** distinct tokens, in order of first appearance */
+    private final String[] tokens;
+    private final int literalLength;
+
+    private CompiledTemplate(@NotNull String source,
+                             @NotNull String[] literals,
+                             int[] slots,
+                             @NotNull String[] tokens) {
+        this.source = source;
+        this.literals = literals;
+        this.slots = slots;
+        this.tokens = tokens;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Parses the text into a template.
+     *
+     * @param text the text containing placeholder tokens
+     * @return the compiled template
+     */
+    @NotNull
+    public static CompiledTemplate compile(@NotNull String text) {
+        PlaceholderScanner scanner = new PlaceholderScanner(text);
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        Map<String, Integer> tokens = new LinkedHashMap<>();
+        int last = 0;
+        while (scanner.find()) {
+            literals.add(text.substring(last, scanner.start()));
+            String token = scanner.token();
+            Integer index = tokens.get(token);
+            if (index == null) {
+                index = tokens.size();
+                tokens.put(token, index);
+            }
+            slots.add(index);
+            last = scanner.end();
+        }
+        literals.add(text.substring(last));
+        return new CompiledTemplate(
+                text,
+                literals.toArray(new String[0]),
+                slots.stream().mapToInt(Integer::intValue).toArray(),
+                tokens.keySet().toArray(new String[0])
+        );
+    }
+
+    /**
+     * Renders the template, resolving placeholders with the handler.
+     *
+     * @param handler the handler resolving the placeholders
+     * @param context the placeholder context
+     * @return the rendered text
+     */
+    @NotNull
+    public String render(@NotNull PlaceholderHandler handler,
+                         @NotNull PlaceholderContext context) {
+        if (tokens.length == 0) {
+            return source;
+        }
+        String[] values = new String[tokens.length];
+        int length = literalLength;
+        for (int i = 0; i < tokens.length; i++) {
+            String value = handler.resolvePlaceholder(tokens[i], context);
+            values[i] = value != null ? value : tokens[i];
+        }
+        for (int slot : slots) {
+            length += values[slot].length();
+        }
+        StringBuilder out = new StringBuilder(length);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]).append(values[slots[i]]);
+        }
+        out.append(literals[slots.length]);
+        return out.toString();
+    }
+
+    /**
+     * Returns the text the template was compiled from.
+     *
+     * @return the source text
+     */
+    @NotNull
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Checks whether the template contains placeholder tokens.
+     *
+     * @return true if there is at least one token
+     */
+    public boolean hasPlaceholders() {
+        return tokens.length != 0;
+    }
+
+    /**
+     * Returns the distinct placeholder tokens, including percent signs,
+     * in order of first appearance.
+     *
+     * @return unmodifiable list of tokens
+     */
+    @NotNull
+    public List<String> getPlaceholders() {
+        return Collections.unmodifiableList(Arrays.asList(tokens));
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof CompiledTemplate && source.equals(((CompiledTemplate) o).source);
+    }
+
+    @Override
+    public int hashCode() {
+        return source.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledTemplate[source=" + source + "]";
+    }
+}
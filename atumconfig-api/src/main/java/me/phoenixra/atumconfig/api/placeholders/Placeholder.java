@@ -42,4 +42,28 @@ public interface Placeholder {
         return text;
     }
 
+    /**
+     * Whether resolving this placeholder is slow, e.g. because it performs I/O.
+     * <p>
+     * Handlers resolve placeholders on the calling thread. Expensive placeholders
+     * may instead be resolved in parallel when a text contains several of them.
+     *
+     * @return true if the value is expensive to resolve
+     */
+    default boolean isExpensive() {
+        return false;
+    }
+
+    /**
+     * How long a resolved value of this placeholder may be reused, in milliseconds.
+     * <p>
+     * Handlers cache the value per token for that long, across contexts,
+     * so it should only be positive for values that do not depend on the context.
+     *
+     * @return the time to live, or 0 to resolve the value on every use
+     */
+    default long getCacheTtlMillis() {
+        return 0;
+    }
+
 }
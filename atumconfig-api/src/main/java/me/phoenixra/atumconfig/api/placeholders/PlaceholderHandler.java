@@ -3,9 +3,9 @@ package me.phoenixra.atumconfig.api.placeholders;
 import me.phoenixra.atumconfig.api.ConfigLogger;
 import me.phoenixra.atumconfig.api.placeholders.context.PlaceholderContext;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 
@@ -34,6 +34,8 @@ public interface PlaceholderHandler {
         @Override public @NotNull Set<Placeholder> getGlobalPlaceholders() { return Collections.emptySet();}
         @Override public @NotNull String translatePlaceholders(@NotNull String text) { return text; }
         @Override public @NotNull String translatePlaceholders(@NotNull String text, @NotNull PlaceholderContext context) { return text; }
+        @Override public @NotNull List<String> translatePlaceholders(@NotNull List<String> lines, @NotNull PlaceholderContext context) { return new ArrayList<>(lines); }
+        @Override public @Nullable String resolvePlaceholder(@NotNull String token, @NotNull PlaceholderContext context) { return null; }
         @Override public @NotNull ConfigLogger getLogger() { return ConfigLogger.EMPTY; }
     };
 
@@ -85,6 +87,44 @@ public interface PlaceholderHandler {
     String translatePlaceholders(@NotNull String text,
                                  @NotNull PlaceholderContext context);
 
+    /**
+     * Translates all placeholder tokens in each of the lines,
+     * as {@link #translatePlaceholders(String, PlaceholderContext)} does for a single text.
+     * <p>
+     * Placeholders are resolved once per batch: a token used on several lines
+     * gets the same value on all of them.
+     *
+     * @param lines   the lines containing placeholder tokens
+     * @param context the placeholder context providing additional or overriding placeholders
+     * @return a new list with the translated lines, in the same order
+     */
+    @NotNull
+    default List<String> translatePlaceholders(@NotNull List<String> lines,
+                                               @NotNull PlaceholderContext context) {
+        List<String> out = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            out.add(translatePlaceholders(line, context));
+        }
+        return out;
+    }
+
+    /**
+     * Resolves the value of a single placeholder token,
+     * with the same precedence as {@link #translatePlaceholders(String, PlaceholderContext)}.
+     * <p>
+     * The default implementation translates the token as a text.
+     *
+     * @param token   the token including percent signs, e.g. {@code %name%}
+     * @param context the placeholder context
+     * @return the value, or null if no placeholder provides one
+     */
+    @Nullable
+    default String resolvePlaceholder(@NotNull String token,
+                                      @NotNull PlaceholderContext context) {
+        String translated = translatePlaceholders(token, context);
+        return translated.equals(token) ? null : translated;
+    }
+
     /**
      * Returns the {@link ConfigLogger} used for logging messages, warnings,
      * or errors encountered during placeholder processing.
@@ -99,15 +139,15 @@ public interface PlaceholderHandler {
      * matches the {@link #PATTERN} regex and includes the surrounding percent signs.
      *
      * @param text the text to scan for placeholders
-     * @return a list of distinct placeholder strings (including percent signs), or
-     *         an empty list if none found
+     * @return a list of distinct placeholder strings (including percent signs)
+     *         in order of first appearance, or an empty list if none found
      */
     @NotNull
     static List<String> findPlaceholdersIn(@NotNull String text) {
-        Set<String> found = new HashSet<>();
-        Matcher matcher = PATTERN.matcher(text);
-        while (matcher.find()) {
-            found.add(matcher.group());
+        Set<String> found = new LinkedHashSet<>();
+        PlaceholderScanner scanner = new PlaceholderScanner(text);
+        while (scanner.find()) {
+            found.add(scanner.token());
         }
         return new ArrayList<>(found);
     }
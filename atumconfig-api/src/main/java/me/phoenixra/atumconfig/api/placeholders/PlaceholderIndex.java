@@ -0,0 +1,300 @@
+package me.phoenixra.atumconfig.api.placeholders;
+
+import me.phoenixra.atumconfig.api.placeholders.types.StaticPlaceholder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable lookup structure finding the placeholder for a token
+ * without testing every placeholder.
+ * <p>
+ * Literal placeholders (like {@link StaticPlaceholder}) are found by a single hash lookup.
+ * Other placeholders are grouped by the literal prefix of their pattern,
+ * so only the groups whose prefix starts the token are matched.
+ * The result is the same as testing the placeholders one by one in the order
+ * they were added and taking the first match.
+ * <p>
+ * Adding and removing return a new index sharing everything else with this one,
+ * so an index can be published to other threads without locking.
+ */
+public final class PlaceholderIndex {
+
+    /**
+     * Index without placeholders
+     */
+    public static final PlaceholderIndex EMPTY = new PlaceholderIndex(
+            Collections.emptyMap(), Collections.emptyMap(), new int[0], Collections.emptyMap(), 0
+    );
+
+    private final Map<String, Entry> exact;
+    private final Map<String, List<Entry>> byPrefix;
+    /** distinct lengths of the prefixes in {@link #byPrefix}, ascending */
+    private final int[] prefixLengths;
+    private final Map<Placeholder, Entry> entries;
+    private final long nextOrder;
+
+    private PlaceholderIndex(@NotNull Map<String, Entry> exact,
+                             @NotNull Map<String, List<Entry>> byPrefix,
+                             int[] prefixLengths,
+                             @NotNull Map<Placeholder, Entry> entries,
+                             long nextOrder) {
+        this.exact = exact;
+        this.byPrefix = byPrefix;
+        this.prefixLengths = prefixLengths;
+        this.entries = entries;
+        this.nextOrder = nextOrder;
+    }
+
+    /**
+     * Builds an index of the placeholders, earlier ones taking precedence.
+     *
+     * @param placeholders the placeholders to index
+     * @return the index
+     */
+    @NotNull
+    public static PlaceholderIndex of(@NotNull Iterable<? extends Placeholder> placeholders) {
+        Map<String, Entry> exact = new HashMap<>();
+        Map<String, List<Entry>> byPrefix = new HashMap<>();
+        Map<Placeholder, Entry> entries = new HashMap<>();
+        long order = 0;
+        for (Placeholder placeholder : placeholders) {
+            if (entries.containsKey(placeholder)) {
+                continue;
+            }
+            Entry entry = new Entry(placeholder, order++);
+            entries.put(placeholder, entry);
+            if (entry.literal != null) {
+                exact.putIfAbsent(entry.literal, entry);
+            } else {
+                byPrefix.computeIfAbsent(entry.prefix, key -> new ArrayList<>(1)).add(entry);
+            }
+        }
+        if (entries.isEmpty()) {
+            return EMPTY;
+        }
+        return new PlaceholderIndex(exact, byPrefix, lengthsOf(byPrefix), entries, order);
+    }
+
+    /**
+     * Returns an index that also contains the placeholder, with the lowest precedence.
+     *
+     * @param placeholder the placeholder to add
+     * @return the new index, or this one if the placeholder is already indexed
+     */
+    @NotNull
+    public PlaceholderIndex with(@NotNull Placeholder placeholder) {
+        if (entries.containsKey(placeholder)) {
+            return this;
+        }
+        Entry entry = new Entry(placeholder, nextOrder);
+        Map<Placeholder, Entry> newEntries = new HashMap<>(entries);
+        newEntries.put(placeholder, entry);
+        if (entry.literal != null) {
+            if (exact.containsKey(entry.literal)) {
+                // shadowed by an earlier placeholder until that one is removed
+                return new PlaceholderIndex(exact, byPrefix, prefixLengths, newEntries, nextOrder + 1);
+            }
+            Map<String, Entry> newExact = new HashMap<>(exact);
+            newExact.put(entry.literal, entry);
+            return new PlaceholderIndex(newExact, byPrefix, prefixLengths, newEntries, nextOrder + 1);
+        }
+        Map<String, List<Entry>> newByPrefix = new HashMap<>(byPrefix);
+        List<Entry> group = new ArrayList<>(newByPrefix.getOrDefault(entry.prefix, Collections.emptyList()));
+        group.add(entry);
+        newByPrefix.put(entry.prefix, group);
+        return new PlaceholderIndex(exact, newByPrefix, lengthsOf(newByPrefix), newEntries, nextOrder + 1);
+    }
+
+    /**
+     * Returns an index without the placeholder.
+     *
+     * @param placeholder the placeholder to remove
+     * @return the new index, or this one if the placeholder is not indexed
+     */
+    @NotNull
+    public PlaceholderIndex without(@NotNull Placeholder placeholder) {
+        Entry entry = entries.get(placeholder);
+        if (entry == null) {
+            return this;
+        }
+        if (entries.size() == 1) {
+            return EMPTY;
+        }
+        Map<Placeholder, Entry> newEntries = new HashMap<>(entries);
+        newEntries.remove(placeholder);
+        if (entry.literal != null) {
+            if (exact.get(entry.literal) != entry) {
+                return new PlaceholderIndex(exact, byPrefix, prefixLengths, newEntries, nextOrder);
+            }
+            Map<String, Entry> newExact = new HashMap<>(exact);
+            newExact.remove(entry.literal);
+            // a shadowed placeholder with the same literal takes over
+            Entry next = null;
+            for (Entry other : newEntries.values()) {
+                if (entry.literal.equals(other.literal) && (next == null || other.order < next.order)) {
+                    next = other;
+                }
+            }
+            if (next != null) {
+                newExact.put(next.literal, next);
+            }
+            return new PlaceholderIndex(newExact, byPrefix, prefixLengths, newEntries, nextOrder);
+        }
+        Map<String, List<Entry>> newByPrefix = new HashMap<>(byPrefix);
+        List<Entry> group = new ArrayList<>(newByPrefix.get(entry.prefix));
+        group.remove(entry);
+        if (group.isEmpty()) {
+            newByPrefix.remove(entry.prefix);
+        } else {
+            newByPrefix.put(entry.prefix, group);
+        }
+        return new PlaceholderIndex(exact, newByPrefix, lengthsOf(newByPrefix), newEntries, nextOrder);
+    }
+
+    /**
+     * Finds the placeholder whose pattern matches the whole token.
+     *
+     * @param token the token, including percent signs
+     * @return the matching placeholder added first, or null if none matches
+     */
+    @Nullable
+    public Placeholder find(@NotNull String token) {
+        Entry best = exact.get(token);
+        for (int length : prefixLengths) {
+            if (length > token.length()) {
+                break;
+            }
+            List<Entry> group = byPrefix.get(token.substring(0, length));
+            if (group == null) {
+                continue;
+            }
+            for (Entry entry : group) {
+                if (best != null && entry.order > best.order) {
+                    break;
+                }
+                if (entry.placeholder.getPattern().matcher(token).matches()) {
+                    best = entry;
+                    break;
+                }
+            }
+        }
+        return best != null ? best.placeholder : null;
+    }
+
+    /**
+     * Returns the amount of indexed placeholders.
+     *
+     * @return the size
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Checks whether the index has no placeholders.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    private static int[] lengthsOf(@NotNull Map<String, List<Entry>> byPrefix) {
+        return byPrefix.keySet().stream().mapToInt(String::length).distinct().sorted().toArray();
+    }
+
+    private static final class Entry {
+        private final Placeholder placeholder;
+        private final long order;
+        /** the whole token, if the pattern is a literal */
+        private final String literal;
+        /** literal text every matching token starts with */
+        private final String prefix;
+
+        private Entry(@NotNull Placeholder placeholder, long order) {
+            this.placeholder = placeholder;
+            this.order = order;
+            Pattern pattern = placeholder.getPattern();
+            if (placeholder instanceof StaticPlaceholder) {
+                this.literal = ((StaticPlaceholder) placeholder).getIdentifier();
+                this.prefix = null;
+            } else if ((pattern.flags() & Pattern.LITERAL) != 0) {
+                this.literal = pattern.pattern();
+                this.prefix = null;
+            } else {
+                this.literal = null;
+                this.prefix = literalPrefix(pattern);
+            }
+        }
+    }
+
+    /**
+     * Returns literal text every match of the pattern starts with.
+     * Conservative: stops at the first construct that is not a plain character,
+     * stepping only into a leading capturing group that is neither optional nor repeated,
+     * such as the group {@code %(...)%} that {@link me.phoenixra.atumconfig.api.placeholders.types.DynamicPlaceholder}
+     * wraps patterns in.
+     */
+    @NotNull
+    static String literalPrefix(@NotNull Pattern pattern) {
+        if ((pattern.flags() & (Pattern.CASE_INSENSITIVE | Pattern.COMMENTS)) != 0) {
+            return "";
+        }
+        String regex = pattern.pattern();
+        if (regex.indexOf('|') != -1) {
+            // only the percent sign around a group, like DynamicPlaceholder builds it, is certain
+            return regex.startsWith("%(") && regex.endsWith(")%") ? "%" : "";
+        }
+        int leadingGroup = regex.startsWith("%(") ? 1 : 0;
+        if (!isPlainGroup(regex, leadingGroup)) {
+            leadingGroup = -1;
+        }
+        StringBuilder prefix = new StringBuilder();
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (i == leadingGroup) {
+                continue;
+            }
+            if ("\\[](){}.*+?^$".indexOf(c) != -1) {
+                break;
+            }
+            if (i + 1 < regex.length() && "*?{".indexOf(regex.charAt(i + 1)) != -1) {
+                // the character is optional or repeated
+                break;
+            }
+            prefix.append(c);
+        }
+        return prefix.toString();
+    }
+
+    /**
+     * Checks whether a capturing group starts at the index
+     * and is matched exactly once, i.e. is not followed by {@code ?}, {@code *} or {@code {}.
+     */
+    private static boolean isPlainGroup(@NotNull String regex, int start) {
+        if (start >= regex.length() || regex.charAt(start) != '('
+                || (start + 1 < regex.length() && regex.charAt(start + 1) == '?')) {
+            return false;
+        }
+        int depth = 0;
+        boolean inClass = false;
+        for (int i = start; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (inClass) {
+                inClass = c != ']';
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i + 1 >= regex.length() || "?*{".indexOf(regex.charAt(i + 1)) == -1;
+            }
+        }
+        return false;
+    }
+}
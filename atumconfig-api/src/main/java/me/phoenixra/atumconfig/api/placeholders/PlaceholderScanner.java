@@ -0,0 +1,102 @@
+package me.phoenixra.atumconfig.api.placeholders;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Finds placeholder tokens in a text without regular expressions.
+ * <p>
+ * Matches exactly what {@link PlaceholderHandler#PATTERN} matches: a percent sign,
+ * one or more characters other than percent or space, and a closing percent sign.
+ * Used like a {@link java.util.regex.Matcher}:
+ * <pre>{@code
+ * PlaceholderScanner scanner = new PlaceholderScanner(text);
+ * while (scanner.find()) {
+ *     String token = scanner.token();
+ * }
+ * }</pre>
+ * Not thread-safe.
+ */
+public final class PlaceholderScanner {
+    private final String text;
+    private int position;
+    private int start = -1;
+    private int end = -1;
+
+    /**
+     * Constructs a scanner over the given text.
+     *
+     * @param text the text to scan
+     */
+    public PlaceholderScanner(@NotNull String text) {
+        this.text = text;
+    }
+
+    /**
+     * Finds the next placeholder token.
+     *
+     * @return true if a token was found, false if the end of the text was reached
+     */
+    public boolean find() {
+        int length = text.length();
+        int open = text.indexOf('%', position);
+        while (open != -1) {
+            int close = open + 1;
+            char c = 0;
+            while (close < length && (c = text.charAt(close)) != '%' && c != ' ') {
+                close++;
+            }
+            if (close == length) {
+                break;
+            }
+            if (c == ' ') {
+                open = text.indexOf('%', close);
+                continue;
+            }
+            if (close == open + 1) {
+                // "%%": the second percent sign may open a token
+                open = close;
+                continue;
+            }
+            start = open;
+            end = close + 1;
+            position = end;
+            return true;
+        }
+        position = length;
+        start = -1;
+        end = -1;
+        return false;
+    }
+
+    /**
+     * Returns the index of the opening percent sign of the last found token.
+     *
+     * @return the start index, inclusive
+     */
+    public int start() {
+        return start;
+    }
+
+    /**
+     * Returns the index after the closing percent sign of the last found token.
+     *
+     * @return the end index, exclusive
+     */
+    public int end() {
+        return end;
+    }
+
+    /**
+     * Returns the last found token, including its percent signs.
+     *
+     * @return the token
+     * @throws IllegalStateException if no token was found
+     */
+    @NotNull
+    public String token() {
+        if (start < 0) {
+            throw new IllegalStateException("No placeholder found");
+        }
+        return text.substring(start, end);
+    }
+}
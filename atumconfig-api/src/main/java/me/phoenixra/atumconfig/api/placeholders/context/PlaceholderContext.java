@@ -2,20 +2,38 @@ package me.phoenixra.atumconfig.api.placeholders.context;
 
 
 
+import me.phoenixra.atumconfig.api.placeholders.Placeholder;
 import me.phoenixra.atumconfig.api.utils.Objects;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 
 /**
  * A class that contains the injectable placeholders.
- *
+ * <p>
+ * A {@link #memoizing() memoizing} context additionally remembers the value
+ * of every token resolved with it, so rendering several texts with the same
+ * context resolves each distinct token at most once per placeholder.
  */
 public class PlaceholderContext {
+    /**
+     * Stands for a memoized null value, which concurrent maps cannot hold
+     */
+    private static final Object NULL_VALUE = new Object();
+
     @NotNull
     private final PlaceholderList placeholderList;
+
+    /**
+     * Values of the resolved tokens per placeholder, or null if not memoizing.
+     * Shared with the copies made by {@link #withContext(PlaceholderList)}.
+     */
+    @Nullable
+    private final Map<MemoKey, Object> memo;
     /**
      * Empty Context, containing empty placeholder list
      */
@@ -29,7 +47,13 @@ public class PlaceholderContext {
      * @param placeholderList The PlaceholderInjectable parseContext.
      */
     public PlaceholderContext(@Nullable final PlaceholderList placeholderList) {
+        this(placeholderList, null);
+    }
+
+    private PlaceholderContext(@Nullable final PlaceholderList placeholderList,
+                               @Nullable final Map<MemoKey, Object> memo) {
         this.placeholderList = Objects.requireNonNullElse(placeholderList, PlaceholderList.EMPTY);
+        this.memo = memo;
     }
 
     /**
@@ -44,16 +68,93 @@ public class PlaceholderContext {
 
     /**
      * Copy with an extra injectable context.
+     * <p>
+     * The copy of a memoizing context shares its memo, so values resolved
+     * through either of them are reused by both. Values are memoized per placeholder,
+     * so a token resolved by a placeholder of the extra context
+     * never reuses the value of another placeholder.
      *
      * @param injectableContext The injectable context to add.
      * @return The new context.
      */
     public PlaceholderContext withContext(@NotNull final PlaceholderList injectableContext) {
         return new PlaceholderContext(
-                new PlaceholderListMerged(this.placeholderList(), injectableContext)
+                new PlaceholderListMerged(this.placeholderList(), injectableContext),
+                memo
         );
     }
 
+    /**
+     * Copy that memoizes the values of resolved tokens.
+     * <p>
+     * Keep the returned context for one render scope, like building a single message
+     * or item, and discard it afterwards: values are never refreshed,
+     * and changes of the placeholder list are not seen by tokens already resolved.
+     *
+     * @return The new memoizing context, or this one if it is memoizing already.
+     */
+    @NotNull
+    public PlaceholderContext memoizing() {
+        if (memo != null) {
+            return this;
+        }
+        return new PlaceholderContext(placeholderList, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Check if this context memoizes resolved tokens.
+     *
+     * @return true if memoizing
+     */
+    public boolean isMemoizing() {
+        return memo != null;
+    }
+
+    /**
+     * Check if a value of the token resolved by the placeholder is memoized.
+     *
+     * @param placeholder The placeholder resolving the token.
+     * @param token The token, including percent signs.
+     * @return true if {@link #getMemoized(Placeholder, String)} has the value.
+     */
+    public boolean hasMemoized(@NotNull final Placeholder placeholder,
+                               @NotNull final String token) {
+        return memo != null && memo.containsKey(new MemoKey(placeholder, token));
+    }
+
+    /**
+     * Get the memoized value of the token resolved by the placeholder.
+     *
+     * @param placeholder The placeholder resolving the token.
+     * @param token The token, including percent signs.
+     * @return The value, or null if it is null or not memoized.
+     */
+    @Nullable
+    public String getMemoized(@NotNull final Placeholder placeholder,
+                              @NotNull final String token) {
+        if (memo == null) {
+            return null;
+        }
+        Object value = memo.get(new MemoKey(placeholder, token));
+        return value == NULL_VALUE ? null : (String) value;
+    }
+
+    /**
+     * Memoize the value of the token resolved by the placeholder.
+     * Does nothing if this context is not memoizing or the value is memoized already.
+     *
+     * @param placeholder The placeholder resolving the token.
+     * @param token The token, including percent signs.
+     * @param value The resolved value, may be null.
+     */
+    public void memoize(@NotNull final Placeholder placeholder,
+                        @NotNull final String token,
+                        @Nullable final String value) {
+        if (memo != null) {
+            memo.putIfAbsent(new MemoKey(placeholder, token), value != null ? value : NULL_VALUE);
+        }
+    }
+
     /**
      * Create PlaceholderContext of a PlaceholderInjectable parseContext.
      *
@@ -90,8 +191,40 @@ public class PlaceholderContext {
     public String toString() {
         return "PlaceholderContext{" +
                 ", injectableContext=" + placeholderList +
+                ", memoizing=" + isMemoizing() +
                 '}';
     }
 
+    /**
+     * Placeholders are compared by identity, as equal placeholders
+     * of different lists may provide different values.
+     */
+    private static final class MemoKey {
+        private final Placeholder placeholder;
+        private final String token;
+
+        private MemoKey(@NotNull Placeholder placeholder, @NotNull String token) {
+            this.placeholder = placeholder;
+            this.token = token;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MemoKey)) {
+                return false;
+            }
+            MemoKey that = (MemoKey) o;
+            return placeholder == that.placeholder && token.equals(that.token);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(placeholder) + token.hashCode();
+        }
+    }
+
 
 }
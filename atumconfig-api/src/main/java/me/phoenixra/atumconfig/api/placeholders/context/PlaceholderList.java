@@ -4,6 +4,7 @@ package me.phoenixra.atumconfig.api.placeholders.context;
 import me.phoenixra.atumconfig.api.placeholders.Placeholder;
 import me.phoenixra.atumconfig.api.placeholders.types.StaticPlaceholder;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -18,6 +19,12 @@ import java.util.stream.Collectors;
  */
 public interface PlaceholderList {
 
+    /**
+     * Version of lists that cannot tell whether they changed,
+     * see {@link #getPlaceholderVersion()}.
+     */
+    long UNVERSIONED = -1;
+
     /**
      * A no-op placeholder list with no placeholders. All mutation methods
      * do nothing and {@link #getPlaceholders()} returns an empty list.
@@ -43,6 +50,16 @@ public interface PlaceholderList {
         List<Placeholder> getPlaceholders() {
             return Collections.emptyList();
         }
+
+        @Override
+        public long getPlaceholderVersion() {
+            return 0;
+        }
+
+        @Override
+        public @Nullable Placeholder findPlaceholder(@NotNull String token) {
+            return null;
+        }
     };
 
 
@@ -107,4 +124,35 @@ public interface PlaceholderList {
      */
     @NotNull
     List<Placeholder> getPlaceholders();
+
+    /**
+     * Returns a number that grows whenever the placeholders of this list change,
+     * letting views of the list be cached until then.
+     * <p>
+     * The default implementation returns {@link #UNVERSIONED},
+     * meaning the list has to be read again on every use.
+     *
+     * @return the version, or {@link #UNVERSIONED}
+     */
+    default long getPlaceholderVersion() {
+        return UNVERSIONED;
+    }
+
+    /**
+     * Finds the first placeholder in this list whose pattern matches the whole token.
+     *
+     * @param token the token, including percent signs
+     * @return the placeholder, or null if none matches
+     */
+    @Nullable
+    default Placeholder findPlaceholder(@NotNull String token) {
+        for (Placeholder placeholder : getPlaceholders()) {
+            if (placeholder instanceof StaticPlaceholder
+                    ? ((StaticPlaceholder) placeholder).getIdentifier().equals(token)
+                    : placeholder.getPattern().matcher(token).matches()) {
+                return placeholder;
+            }
+        }
+        return null;
+    }
 }
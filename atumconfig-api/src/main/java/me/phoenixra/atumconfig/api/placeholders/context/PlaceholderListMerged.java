@@ -1,6 +1,7 @@
 package me.phoenixra.atumconfig.api.placeholders.context;
 
 import me.phoenixra.atumconfig.api.placeholders.Placeholder;
+import me.phoenixra.atumconfig.api.placeholders.PlaceholderIndex;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -14,6 +15,11 @@ import java.util.*;
  * Placeholders added or removed via this merged list are propagated to both
  * the base and additional contexts when the {@code deep} flag is true.
  * Otherwise, they are only recorded locally in this merged instance.
+ * <p>
+ * The flattened placeholders and an index over them are cached and reused
+ * until the {@link #getPlaceholderVersion() version} of this list or of one
+ * of the merged lists changes. If a merged list is not versioned,
+ * the view is rebuilt on every access.
  */
 public class PlaceholderListMerged implements PlaceholderList {
 
@@ -24,6 +30,13 @@ public class PlaceholderListMerged implements PlaceholderList {
 
     private final Set<Placeholder> extraInjections = new HashSet<>();
 
+    /**
+     * Incremented on every change of {@link #extraInjections}.
+     */
+    private volatile long localVersion;
+
+    private volatile Snapshot snapshot;
+
     /**
      * Constructs a merged placeholder list that overlays two existing contexts.
      *
@@ -41,6 +54,7 @@ public class PlaceholderListMerged implements PlaceholderList {
         for (Placeholder placeholder : placeholders) {
             extraInjections.add(placeholder);
         }
+        localVersion++;
         if(deep){
             baseContext.addPlaceholder(placeholders,deep);
             additionalContext.addPlaceholder(placeholders,deep);
@@ -52,6 +66,7 @@ public class PlaceholderListMerged implements PlaceholderList {
         for (Placeholder placeholder : placeholders) {
             extraInjections.remove(placeholder);
         }
+        localVersion++;
         if(deep){
             baseContext.removePlaceholder(placeholders,deep);
             additionalContext.removePlaceholder(placeholders,deep);
@@ -61,14 +76,55 @@ public class PlaceholderListMerged implements PlaceholderList {
     @Override
     public void clearPlaceholders(boolean deep) {
         extraInjections.clear();
+        localVersion++;
         if(deep) {
             baseContext.clearPlaceholders(deep);
             additionalContext.clearPlaceholders(deep);
         }
     }
 
+    /**
+     * Returns the placeholders of the base list, then of the additional list,
+     * then the extra injections.
+     *
+     * @return unmodifiable flattened list, shared until one of the lists changes
+     */
     @Override
     public @NotNull List<Placeholder> getPlaceholders() {
+        return snapshot().placeholders;
+    }
+
+    /**
+     * Finds the placeholder using an index over the flattened placeholders.
+     */
+    @Override
+    public @Nullable Placeholder findPlaceholder(@NotNull String token) {
+        return snapshot().index.find(token);
+    }
+
+    /**
+     * Returns the sum of the versions of the merged lists and of this one,
+     * which grows whenever any of them changes.
+     *
+     * @return the version, or {@link #UNVERSIONED} if a merged list is not versioned
+     */
+    @Override
+    public long getPlaceholderVersion() {
+        long base = baseContext.getPlaceholderVersion();
+        long additional = additionalContext.getPlaceholderVersion();
+        if (base == UNVERSIONED || additional == UNVERSIONED) {
+            return UNVERSIONED;
+        }
+        return base + additional + localVersion;
+    }
+
+    private @NotNull Snapshot snapshot() {
+        // read before the lists, so a concurrent change leaves the snapshot stale, not wrong
+        long version = getPlaceholderVersion();
+        Snapshot current = snapshot;
+        if (current != null && version != UNVERSIONED && current.version == version) {
+            return current;
+        }
         List<Placeholder> base = baseContext.getPlaceholders();
         List<Placeholder> additional = additionalContext.getPlaceholders();
 
@@ -78,7 +134,21 @@ public class PlaceholderListMerged implements PlaceholderList {
         injections.addAll(additional);
         injections.addAll(extraInjections);
 
-        return injections;
+        current = new Snapshot(version, Collections.unmodifiableList(injections));
+        snapshot = current;
+        return current;
+    }
+
+    private static final class Snapshot {
+        private final long version;
+        private final List<Placeholder> placeholders;
+        private final PlaceholderIndex index;
+
+        private Snapshot(long version, @NotNull List<Placeholder> placeholders) {
+            this.version = version;
+            this.placeholders = placeholders;
+            this.index = PlaceholderIndex.of(placeholders);
+        }
     }
 
     @Override
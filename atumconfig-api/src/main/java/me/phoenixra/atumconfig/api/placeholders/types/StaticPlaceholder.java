@@ -56,6 +56,16 @@ public final class StaticPlaceholder implements Placeholder {
         );
     }
 
+    /**
+     * Returns the identifier including percent signs, e.g. <code>%key%</code>.
+     *
+     * @return the identifier
+     */
+    @NotNull
+    public String getIdentifier() {
+        return this.identifier;
+    }
+
     @Override
     public String toString() {
         return "StaticPlaceholder[identifier=" + this.identifier + "]";
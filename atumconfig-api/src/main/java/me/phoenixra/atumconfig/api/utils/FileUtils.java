@@ -4,12 +4,18 @@ import me.phoenixra.atumconfig.api.ConfigManager;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.*;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Stream;
 
 /**
@@ -91,4 +97,111 @@ public class FileUtils {
         return found;
     }
 
+    /**
+     * Replaces the content of a file so that readers see either the old
+     * or the new content, never an empty or partially written file.
+     * <p>
+     * The data is written to a temporary file next to the target, which is then
+     * moved over the target atomically. On file systems that cannot move atomically
+     * the move falls back to a plain replacing move.
+     * <p>
+     * On POSIX file systems the target keeps its permissions and, if the process
+     * may set it, its group. A new target gets the default permissions of new files.
+     * A target that is a symbolic link is written through: the file it points to
+     * is replaced, and the link is kept.
+     *
+     * @param target the file to write, created if missing
+     * @param data   the new content
+     * @param sync   whether to force the data to the storage device before
+     *               the move, so the new content also survives a crash
+     * @throws IOException if writing or moving fails; the target is left unchanged
+     */
+    public static void writeAtomically(@NotNull Path target,
+                                       byte[] data,
+                                       boolean sync) throws IOException {
+        Path file;
+        try {
+            file = target.toRealPath();
+        } catch (NoSuchFileException e) {
+            file = target.toAbsolutePath();
+        }
+        Path dir = file.getParent();
+        Path temp = createSibling(dir, file.getFileName().toString());
+        try {
+            // before writing, so the data is never readable with looser permissions
+            copyPosixAttributes(file, temp);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                if (sync) {
+                    channel.force(true);
+                }
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (sync) {
+                syncDirectory(dir);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Creates an empty temporary file in the directory.
+     * Unlike {@link Files#createTempFile}, which restricts access to the owner,
+     * the file gets the default permissions of new files.
+     */
+    private static @NotNull Path createSibling(@NotNull Path dir, @NotNull String name) throws IOException {
+        while (true) {
+            // the suffix keeps the temporary file from matching config file extensions
+            Path temp = dir.resolve("." + name + "." + Long.toUnsignedString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+            try {
+                return Files.createFile(temp);
+            } catch (FileAlreadyExistsException ignored) {
+                // taken, try another name
+            }
+        }
+    }
+
+    /**
+     * Copies the permissions and group of an existing file to another file,
+     * on file systems supporting POSIX attributes.
+     */
+    private static void copyPosixAttributes(@NotNull Path from, @NotNull Path to) throws IOException {
+        PosixFileAttributeView view = Files.getFileAttributeView(from, PosixFileAttributeView.class);
+        if (view == null) {
+            return;
+        }
+        PosixFileAttributes attributes;
+        try {
+            attributes = view.readAttributes();
+        } catch (NoSuchFileException e) {
+            return;
+        }
+        Files.setPosixFilePermissions(to, attributes.permissions());
+        try {
+            Files.getFileAttributeView(to, PosixFileAttributeView.class).setGroup(attributes.group());
+        } catch (IOException ignored) {
+            // only members of the group may set it
+        }
+    }
+
+    /**
+     * Makes the rename durable on file systems that need it.
+     * Directories cannot be opened on every platform, so this is best-effort.
+     */
+    private static void syncDirectory(@NotNull Path dir) {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+            // not supported, e.g. on Windows
+        }
+    }
+
 }
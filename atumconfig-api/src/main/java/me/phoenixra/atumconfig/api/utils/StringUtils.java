@@ -41,7 +41,7 @@ public class StringUtils {
      */
     @NotNull
     public static Collection<String> formatColorCodes(@NotNull Collection<String> list) {
-        Collection<String> output= new ArrayList<>();
+        Collection<String> output= new ArrayList<>(list.size());
         for (String entry : list) {
             output.add(formatColorCodes(entry));
         }
@@ -76,14 +76,11 @@ public class StringUtils {
     public static List<String> formatWithPlaceholders(@NotNull ConfigManager configOwner,
                                                       @NotNull Collection<String> list,
                                                       @NotNull PlaceholderContext context) {
-        List<String> out = new ArrayList<>();
-        PlaceholderHandler placeholderHandler = configOwner
-                .getPlaceholderHandler()
-                .orElse(PlaceholderHandler.EMPTY);
-        for(String line : list){
-            out.add(placeholderHandler.translatePlaceholders(line,context));
-        }
-        return out;
+        return configOwner.getPlaceholderHandler().orElse(PlaceholderHandler.EMPTY)
+                .translatePlaceholders(
+                        list instanceof List ? (List<String>) list : new ArrayList<>(list),
+                        context
+                );
     }
 
     /**
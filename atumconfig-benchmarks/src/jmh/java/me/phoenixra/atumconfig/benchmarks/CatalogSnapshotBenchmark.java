@@ -0,0 +1,98 @@
+package me.phoenixra.atumconfig.benchmarks;
+
+import me.phoenixra.atumconfig.api.config.Config;
+import me.phoenixra.atumconfig.api.config.ConfigFile;
+import me.phoenixra.atumconfig.api.config.ConfigType;
+import me.phoenixra.atumconfig.api.config.catalog.ConfigCatalog;
+import me.phoenixra.atumconfig.api.config.catalog.ConfigCatalogListener;
+import me.phoenixra.atumconfig.core.AtumConfigManager;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures a cold load of a large catalog, like at startup:
+ * a new manager reloading every file of the catalog,
+ * either parsing the text or decoding the binary snapshots.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class CatalogSnapshotBenchmark {
+
+    @Param({"parse", "snapshot"})
+    public String mode;
+
+    @Param({"YAML", "JSON"})
+    public ConfigType type;
+
+    @Param({"10000"})
+    public int files;
+
+    private Path root;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        root = Files.createTempDirectory("atumconfig-snapshots");
+        Path catalog = Files.createDirectories(root.resolve("items"));
+        AtumConfigManager writer = new AtumConfigManager("writer", root, false);
+        for (int i = 0; i < files; i++) {
+            Config config = writer.createConfig(type, null);
+            config.set("name", "Item number " + i);
+            config.set("enabled", i % 2 == 0);
+            config.set("weight", i * 0.25);
+            config.set("amount", i);
+            config.set("stats.damage", i % 50);
+            config.set("stats.speed", 1.5);
+            config.set("lore", Arrays.asList("first line", "second line", "third line"));
+            Files.write(
+                    catalog.resolve("item" + i + "." + type.getFileExtension()),
+                    config.toPlaintext().getBytes(StandardCharsets.UTF_8)
+            );
+        }
+        if (mode.equals("snapshot")) {
+            // the first start writes the snapshots
+            newCatalog().reload();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(root.resolveSibling(root.getFileName() + ".snapshot"));
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public ConfigCatalog coldLoad() {
+        ConfigCatalog catalog = newCatalog();
+        catalog.reload();
+        return catalog;
+    }
+
+    private @NotNull ConfigCatalog newCatalog() {
+        AtumConfigManager manager = new AtumConfigManager("benchmark", root, false);
+        manager.setSnapshotsEnabled(mode.equals("snapshot"));
+        return manager.createCatalog(type, "items", Paths.get("items"), false, new ConfigCatalogListener() {
+            @Override
+            public void onClear(@NotNull ConfigCatalog catalog) {
+            }
+
+            @Override
+            public void onConfigLoaded(@NotNull ConfigCatalog catalog, @NotNull ConfigFile config) {
+            }
+        });
+    }
+}
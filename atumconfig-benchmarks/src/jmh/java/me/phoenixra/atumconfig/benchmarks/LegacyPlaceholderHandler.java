@@ -0,0 +1,87 @@
+package me.phoenixra.atumconfig.benchmarks;
+
+import me.phoenixra.atumconfig.api.ConfigLogger;
+import me.phoenixra.atumconfig.api.placeholders.Placeholder;
+import me.phoenixra.atumconfig.api.placeholders.PlaceholderHandler;
+import me.phoenixra.atumconfig.api.placeholders.context.PlaceholderContext;
+import me.phoenixra.atumconfig.api.tuples.PairRecord;
+import me.phoenixra.atumconfig.api.utils.StringUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * The thread pool based translation that {@code AtumPlaceholderHandler} used before,
+ * kept as a baseline for {@link PlaceholderBenchmark}.
+ */
+class LegacyPlaceholderHandler implements PlaceholderHandler {
+    private static final ExecutorService EXECUTOR =
+            Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable);
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final Set<Placeholder> globalPlaceholders = new CopyOnWriteArraySet<>();
+
+    @Override
+    public @NotNull String translatePlaceholders(@NotNull String text) {
+        return translatePlaceholders(text, PlaceholderContext.EMPTY);
+    }
+
+    @Override
+    public @NotNull String translatePlaceholders(@NotNull String text, @NotNull PlaceholderContext context) {
+        List<Future<PairRecord<String, String>>> futures = new ArrayList<>();
+        for (String textToReplace : PlaceholderHandler.findPlaceholdersIn(text)) {
+            futures.add(EXECUTOR.submit(() -> {
+                for (Placeholder placeholder : context.placeholderList().getPlaceholders()) {
+                    if (textToReplace.matches(placeholder.getPattern().pattern())) {
+                        String replacement = placeholder.getValue(textToReplace, context);
+                        return replacement == null ? new PairRecord<>("", "") : new PairRecord<>(textToReplace, replacement);
+                    }
+                }
+                for (Placeholder placeholder : globalPlaceholders) {
+                    if (textToReplace.matches(placeholder.getPattern().pattern())) {
+                        String replacement = placeholder.getValue(textToReplace, context);
+                        return replacement == null ? new PairRecord<>("", "") : new PairRecord<>(textToReplace, replacement);
+                    }
+                }
+                return new PairRecord<>("", "");
+            }));
+        }
+        String translated = text;
+        for (Future<PairRecord<String, String>> future : futures) {
+            try {
+                PairRecord<String, String> result = future.get();
+                if (result.first().isEmpty()) continue;
+                translated = StringUtils.replaceFast(translated, result.first(), result.second());
+            } catch (InterruptedException | ExecutionException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return translated;
+    }
+
+    @Override
+    public void registerGlobalPlaceholder(@NotNull Placeholder placeholder) {
+        globalPlaceholders.add(placeholder);
+    }
+
+    @Override
+    public void unregisterGlobalPlaceholder(@NotNull Placeholder placeholder) {
+        globalPlaceholders.remove(placeholder);
+    }
+
+    @Override
+    public @NotNull Set<Placeholder> getGlobalPlaceholders() {
+        return globalPlaceholders;
+    }
+
+    @Override
+    public @NotNull ConfigLogger getLogger() {
+        return ConfigLogger.EMPTY;
+    }
+}
@@ -0,0 +1,110 @@
+package me.phoenixra.atumconfig.benchmarks;
+
+import me.phoenixra.atumconfig.api.config.Config;
+import me.phoenixra.atumconfig.api.config.ConfigParser;
+import me.phoenixra.atumconfig.api.config.ConfigType;
+import me.phoenixra.atumconfig.api.config.parsers.BoundConfigParser;
+import me.phoenixra.atumconfig.api.config.parsers.ConfigKey;
+import me.phoenixra.atumconfig.core.AtumConfigManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares mapping catalog entries into domain objects with a hand-written parser
+ * looking up string paths, like {@code ConfigParserExample},
+ * and with a {@link BoundConfigParser}.
+ * <p>
+ * Every iteration maps freshly loaded configs once, like after a reload.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 20)
+public class ParserBindingBenchmark {
+
+    @Param({"10000"})
+    public int entries;
+
+    private final ConfigParser<Item> handWritten = new HandWrittenParser();
+    private final ConfigParser<Item> bound = BoundConfigParser.of(Item.class);
+
+    private final AtumConfigManager manager = new AtumConfigManager("benchmark", Paths.get("."), false);
+    private List<Config> configs;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        configs = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            configs.add(manager.createConfigFromString(
+                    ConfigType.JSON,
+                    "{\"id\": \"item" + i + "\", \"enabled\": " + (i % 2 == 0) + ", \"amount\": " + i + ","
+                            + " \"stats\": {\"damage\": " + i % 50 + ", \"speed\": 1.5, \"weight\": " + i * 0.25 + "}}"
+            ));
+        }
+    }
+
+    @Benchmark
+    public void handWritten(Blackhole blackhole) {
+        for (Config config : configs) {
+            blackhole.consume(handWritten.fromConfig(config));
+        }
+    }
+
+    @Benchmark
+    public void bound(Blackhole blackhole) {
+        for (Config config : configs) {
+            blackhole.consume(bound.fromConfig(config));
+        }
+    }
+
+    public static class Item {
+        private @ConfigKey String id;
+        private @ConfigKey boolean enabled;
+        private @ConfigKey int amount;
+        private @ConfigKey("stats.damage") int damage;
+        private @ConfigKey("stats.speed") double speed;
+        private @ConfigKey("stats.weight") double weight;
+    }
+
+    private static class HandWrittenParser implements ConfigParser<Item> {
+        @Override
+        public @Nullable Config toConfig(Object value, Config emptyConfig) {
+            return null;
+        }
+
+        @Override
+        public Item fromConfig(Config config) {
+            String id = config.getStringOrNull("id");
+            Boolean enabled = config.getBoolOrNull("enabled");
+            Integer amount = config.getIntOrNull("amount");
+            Integer damage = config.getIntOrNull("stats.damage");
+            Double speed = config.getDoubleOrNull("stats.speed");
+            Double weight = config.getDoubleOrNull("stats.weight");
+            if (id == null || enabled == null || amount == null
+                    || damage == null || speed == null || weight == null) {
+                return null;
+            }
+            Item item = new Item();
+            item.id = id;
+            item.enabled = enabled;
+            item.amount = amount;
+            item.damage = damage;
+            item.speed = speed;
+            item.weight = weight;
+            return item;
+        }
+
+        @Override
+        public @NotNull Class<Item> getClassParsed() {
+            return Item.class;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package me.phoenixra.atumconfig.benchmarks;
+
+import me.phoenixra.atumconfig.api.ConfigLogger;
+import me.phoenixra.atumconfig.api.placeholders.PlaceholderHandler;
+import me.phoenixra.atumconfig.api.placeholders.context.PlaceholderContext;
+import me.phoenixra.atumconfig.api.placeholders.types.DynamicPlaceholder;
+import me.phoenixra.atumconfig.api.placeholders.types.StaticPlaceholder;
+import me.phoenixra.atumconfig.core.AtumPlaceholderHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares placeholder translation of the current handler
+ * with the thread pool based {@link LegacyPlaceholderHandler}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlaceholderBenchmark {
+
+    @Param({"current", "legacy"})
+    public String handler;
+
+    @Param({"10", "300"})
+    public int globalPlaceholders;
+
+    private PlaceholderHandler placeholderHandler;
+
+    private final String shortText = "Hello %player_name%!";
+    private final String longText = "&7Balance: &a%player_balance% &7| Level: &b%player_level% &7| "
+            + "Rank: %player_rank% &7| Kills: %stat:kills% &7| Deaths: %stat:deaths% &7| %player_name%";
+    private final String plainText = "A line of lore without any placeholders in it at all";
+    private final List<String> lore = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        placeholderHandler = handler.equals("current")
+                ? new AtumPlaceholderHandler(ConfigLogger.EMPTY)
+                : new LegacyPlaceholderHandler();
+        for (int i = 0; i < globalPlaceholders; i++) {
+            String value = "value" + i;
+            placeholderHandler.registerGlobalPlaceholder(new StaticPlaceholder("filler_" + i, () -> value));
+        }
+        placeholderHandler.registerGlobalPlaceholder(new StaticPlaceholder("player_name", () -> "Steve"));
+        placeholderHandler.registerGlobalPlaceholder(new StaticPlaceholder("player_balance", () -> "1,024.50"));
+        placeholderHandler.registerGlobalPlaceholder(new StaticPlaceholder("player_level", () -> "42"));
+        placeholderHandler.registerGlobalPlaceholder(new StaticPlaceholder("player_rank", () -> "Knight"));
+        placeholderHandler.registerGlobalPlaceholder(new DynamicPlaceholder(
+                Pattern.compile("stat:\\w+"),
+                token -> String.valueOf(token.length())
+        ));
+        for (int i = 0; i < 30; i++) {
+            lore.add(i % 3 == 0 ? plainText : i % 3 == 1 ? shortText : longText);
+        }
+    }
+
+    @Benchmark
+    public String shortString() {
+        return placeholderHandler.translatePlaceholders(shortText);
+    }
+
+    @Benchmark
+    public String longString() {
+        return placeholderHandler.translatePlaceholders(longText);
+    }
+
+    @Benchmark
+    public String noPlaceholders() {
+        return placeholderHandler.translatePlaceholders(plainText);
+    }
+
+    @Benchmark
+    public List<String> loreBatch() {
+        return placeholderHandler.translatePlaceholders(lore, PlaceholderContext.EMPTY);
+    }
+}
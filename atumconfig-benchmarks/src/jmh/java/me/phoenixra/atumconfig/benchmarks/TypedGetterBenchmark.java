@@ -0,0 +1,81 @@
+package me.phoenixra.atumconfig.benchmarks;
+
+import me.phoenixra.atumconfig.api.config.Config;
+import me.phoenixra.atumconfig.api.config.ConfigType;
+import me.phoenixra.atumconfig.core.AtumConfigManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the boxed getters ({@code getXOrNull}, {@code getXList})
+ * with their primitive counterparts.
+ * Run with the gc profiler to compare allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TypedGetterBenchmark {
+
+    @Param({"1000"})
+    public int listSize;
+
+    private Config config;
+
+    @Setup
+    public void setup() {
+        AtumConfigManager manager = new AtumConfigManager(
+                "benchmark",
+                Paths.get("."),
+                false
+        );
+        config = manager.createConfig(ConfigType.JSON, null);
+        config.set("section.int", 123456);
+        config.set("section.double", 1234.5678);
+        List<Integer> list = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            list.add(i * 1000);
+        }
+        config.set("section.list", list);
+    }
+
+    @Benchmark
+    public int intBoxed() {
+        Integer value = config.getIntOrNull("section.int");
+        return value != null ? value : 0;
+    }
+
+    @Benchmark
+    public int intPrimitive() {
+        return config.getInt("section.int");
+    }
+
+    @Benchmark
+    public double doubleBoxed() {
+        Double value = config.getDoubleOrNull("section.double");
+        return value != null ? value : 0.0;
+    }
+
+    @Benchmark
+    public double doublePrimitive() {
+        return config.getDouble("section.double");
+    }
+
+    @Benchmark
+    public void intList(Blackhole blackhole) {
+        for (int value : config.getIntList("section.list")) {
+            blackhole.consume(value);
+        }
+    }
+
+    @Benchmark
+    public void intArray(Blackhole blackhole) {
+        for (int value : config.getIntArray("section.list")) {
+            blackhole.consume(value);
+        }
+    }
+}
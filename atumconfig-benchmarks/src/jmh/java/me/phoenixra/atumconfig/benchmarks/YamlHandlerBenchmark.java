@@ -0,0 +1,62 @@
+package me.phoenixra.atumconfig.benchmarks;
+
+import me.phoenixra.atumconfig.api.config.Config;
+import me.phoenixra.atumconfig.api.config.ConfigType;
+import me.phoenixra.atumconfig.core.AtumConfigManager;
+import me.phoenixra.atumconfig.core.config.typehandlers.ConfigTypeHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.StringReader;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parse and dump throughput of the YAML type handler
+ * for a small and a large document.
+ * Run with several threads (-t) to include the parallel catalog load case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class YamlHandlerBenchmark {
+
+    @Param({"small", "large"})
+    public String document;
+
+    private AtumConfigManager manager;
+    private String yaml;
+    private Map<String, Object> values;
+
+    @Setup
+    public void setup() {
+        manager = new AtumConfigManager(
+                "benchmark",
+                Paths.get("."),
+                false
+        );
+        Config config = manager.createConfig(ConfigType.YAML, null);
+        int sections = document.equals("small") ? 1 : 500;
+        for (int i = 0; i < sections; i++) {
+            String root = "section" + i + ".";
+            config.set(root + "name", "Section number " + i);
+            config.set(root + "enabled", i % 2 == 0);
+            config.set(root + "weight", i * 0.25);
+            config.set(root + "amount", i);
+            config.set(root + "nested.lore", Arrays.asList("first line", "second line", "third line"));
+        }
+        yaml = config.toPlaintext();
+        values = config.toMap();
+    }
+
+    @Benchmark
+    public Map<String, Object> parse() {
+        return ConfigTypeHandler.load(manager, ConfigType.YAML, new StringReader(yaml));
+    }
+
+    @Benchmark
+    public String dump() {
+        return ConfigTypeHandler.toString(ConfigType.YAML, values);
+    }
+}
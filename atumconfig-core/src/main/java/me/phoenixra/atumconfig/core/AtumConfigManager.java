@@ -6,6 +6,7 @@ import me.phoenixra.atumconfig.api.ConfigLogger;
 import me.phoenixra.atumconfig.api.ConfigManager;
 import me.phoenixra.atumconfig.api.config.Config;
 import me.phoenixra.atumconfig.api.config.ConfigFile;
+import me.phoenixra.atumconfig.api.config.ConfigFormat;
 import me.phoenixra.atumconfig.api.config.ConfigParser;
 import me.phoenixra.atumconfig.api.config.ConfigType;
 import me.phoenixra.atumconfig.api.config.catalog.ConfigCatalog;
@@ -14,16 +15,21 @@ import me.phoenixra.atumconfig.api.placeholders.PlaceholderHandler;
 import me.phoenixra.atumconfig.core.config.AtumConfig;
 import me.phoenixra.atumconfig.core.config.AtumConfigCatalog;
 import me.phoenixra.atumconfig.core.config.AtumConfigFile;
+import me.phoenixra.atumconfig.core.config.ConfigSnapshotStore;
 import me.phoenixra.atumconfig.core.config.typehandlers.ConfigTypeHandler;
+import me.phoenixra.atumconfig.core.config.typehandlers.ConfigTypeHandlers;
+import me.phoenixra.atumconfig.core.config.typehandlers.TypeHandlerFormat;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import redempt.crunch.CompiledExpression;
+import redempt.crunch.Crunch;
 import redempt.crunch.functional.EvaluationEnvironment;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -47,13 +53,101 @@ public class AtumConfigManager implements ConfigManager {
     @Getter
     protected Map<String, ConfigCatalog> configCatalogsMap = new ConcurrentHashMap<>();
 
+    /**
+     * Parsers by parsed class. Register parsers through {@link #addConfigParser(ConfigParser)},
+     * which also clears the {@link #parserResolution resolved parsers}.
+     */
     @Getter
     protected Map<Class<?>, ConfigParser<?>> configParsersMap = new ConcurrentHashMap<>();
 
+    /**
+     * Parsers resolved by {@link #getConfigParserFor(Class)} per value class,
+     * replaced by a new instance whenever a parser is registered.
+     * Values of classes without a parser, such as strings and numbers,
+     * resolve to the same empty result without any lookup after the first one.
+     */
+    private volatile ClassValue<Optional<ConfigParser<?>>> parserResolution = newParserResolution();
+
+    /**
+     * Handlers replacing the {@link ConfigTypeHandlers#HANDLERS built-in} ones
+     */
+    @Getter
+    protected Map<ConfigType, ConfigTypeHandler> typeHandlersMap = new ConcurrentHashMap<>();
+
+    /**
+     * Handlers of the formats registered for file extensions,
+     * see {@link #addConfigFormat(String, ConfigFormat)}.
+     */
+    private final Map<String, TypeHandlerFormat> formatHandlers = new ConcurrentHashMap<>();
+
 
 
+    @Getter
+    private volatile EvaluationEnvironment evaluationEnvironment = new EvaluationEnvironment();
+
+    /**
+     * Maximum amount of compiled expressions kept by {@link #compileExpression(String)}.
+     * 0 disables caching.
+     */
+    @Getter
+    private volatile int expressionCacheSize = 512;
+
+    /**
+     * Compiled expressions by source, least recently used first.
+     * Guarded by itself.
+     */
+    private final LinkedHashMap<String, CompiledExpression> expressionCache =
+            new LinkedHashMap<String, CompiledExpression>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CompiledExpression> eldest) {
+                    return size() > expressionCacheSize;
+                }
+            };
+
+    /**
+     * Whether configs keep a flattened index of their deep paths,
+     * turning deep lookups into a single hash lookup. Disabled by default.
+     * <p>
+     * Every config and section read by deep paths then keeps a map
+     * with an entry per key of its subtree, so nested sections are indexed
+     * again by each of their parents. Enable it for a few configs read
+     * by deep paths on hot paths, rather than for large catalogs.
+     */
+    @Getter @Setter
+    private volatile boolean pathIndexEnabled = false;
+
+    /**
+     * Whether saved config files are forced to the storage device before
+     * they replace the old file. Makes saves survive a crash, at the cost of
+     * waiting for the disk on every save.
+     */
     @Getter @Setter
-    private EvaluationEnvironment evaluationEnvironment = new EvaluationEnvironment();
+    private volatile boolean syncOnSave = false;
+
+    /**
+     * Delay in milliseconds after the first change of a write-behind config file
+     * before it is written, see {@link ConfigFile#setWriteBehind(boolean)}.
+     */
+    @Getter
+    private volatile long writeBehindMillis = 1000;
+
+    private final AtumConfigWriter writer = new AtumConfigWriter(this);
+
+    /**
+     * Binary snapshots of parsed config files, or null to always parse the text.
+     * With snapshots, a config file whose size and modification time did not change
+     * since its snapshot was made is decoded from the snapshot instead of being parsed,
+     * which makes loading large catalogs much faster.
+     * <p>
+     * New snapshots are written when {@link #reloadAll()} or a catalog reload ends,
+     * and by {@link #flushAll()} and {@link #shutdown()}.
+     */
+    @Getter
+    @Nullable
+    private volatile ConfigSnapshotStore snapshotStore;
+
+    private volatile AtumConfigWatcher watcher;
+
     public AtumConfigManager(@NotNull String id,
                              @NotNull Path directory,
                              @NotNull ConfigLogger logger,
@@ -72,6 +166,116 @@ public class AtumConfigManager implements ConfigManager {
         this.supportColorCodes = supportColorCodes;
     }
 
+    /**
+     * Sets the environment used to compile expressions
+     * and clears the compiled expressions of the previous one.
+     *
+     * @param evaluationEnvironment the environment
+     */
+    public void setEvaluationEnvironment(@NotNull EvaluationEnvironment evaluationEnvironment) {
+        this.evaluationEnvironment = evaluationEnvironment;
+        clearExpressionCache();
+    }
+
+    /**
+     * Enables binary snapshots in a file next to the config directory,
+     * named after it with a {@code .snapshot} suffix, or disables them.
+     *
+     * @param enabled true to keep snapshots
+     * @see #setSnapshotFile(Path)
+     */
+    public void setSnapshotsEnabled(boolean enabled) {
+        Path absolute = directory.toAbsolutePath();
+        setSnapshotFile(enabled ? absolute.resolveSibling(absolute.getFileName() + ".snapshot") : null);
+    }
+
+    /**
+     * Sets the file keeping binary snapshots of parsed config files.
+     * It should not be inside the config directory, where catalogs would see it.
+     *
+     * @param snapshotFile the file, or null to disable snapshots
+     */
+    public void setSnapshotFile(@Nullable Path snapshotFile) {
+        ConfigSnapshotStore previous = snapshotStore;
+        this.snapshotStore = snapshotFile != null ? new ConfigSnapshotStore(this, snapshotFile) : null;
+        if (previous != null) {
+            previous.flush();
+        }
+    }
+
+    /**
+     * Sets the delay after the first change of a write-behind config file
+     * before it is written. Applies to writes scheduled afterwards.
+     *
+     * @param writeBehindMillis the delay in milliseconds
+     */
+    public void setWriteBehindMillis(long writeBehindMillis) {
+        if (writeBehindMillis < 0) {
+            throw new IllegalArgumentException("Write-behind delay must not be negative, got " + writeBehindMillis);
+        }
+        this.writeBehindMillis = writeBehindMillis;
+    }
+
+    /**
+     * Schedules a write of the config file on the background writer,
+     * unless one is scheduled already.
+     *
+     * @param configFile the write-behind config file
+     */
+    public void scheduleWrite(@NotNull AtumConfigFile configFile) {
+        writer.schedule(configFile);
+    }
+
+    /**
+     * Sets the maximum amount of cached compiled expressions.
+     *
+     * @param expressionCacheSize the size, 0 to disable caching
+     */
+    public void setExpressionCacheSize(int expressionCacheSize) {
+        if (expressionCacheSize < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative, got " + expressionCacheSize);
+        }
+        this.expressionCacheSize = expressionCacheSize;
+        clearExpressionCache();
+    }
+
+    /**
+     * Compiles the expression with the {@link #getEvaluationEnvironment() evaluation environment},
+     * reusing the result of an earlier call with the same source.
+     * <p>
+     * Call {@link #clearExpressionCache()} after changing the functions or variables
+     * of the current environment, so expressions are compiled against the new definitions.
+     *
+     * @param expression the expression source
+     * @return the compiled expression
+     */
+    public @NotNull CompiledExpression compileExpression(@NotNull String expression) {
+        EvaluationEnvironment environment = evaluationEnvironment;
+        synchronized (expressionCache) {
+            CompiledExpression compiled = expressionCache.get(expression);
+            if (compiled != null) {
+                return compiled;
+            }
+        }
+        // compiled outside the lock, at worst twice for the same source
+        CompiledExpression compiled = Crunch.compileExpression(expression, environment);
+        if (expressionCacheSize > 0 && environment == evaluationEnvironment) {
+            synchronized (expressionCache) {
+                expressionCache.put(expression, compiled);
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * Removes all compiled expressions cached by {@link #compileExpression(String)}.
+     */
+    public void clearExpressionCache() {
+        synchronized (expressionCache) {
+            expressionCache.clear();
+        }
+    }
+
     @Override
     public boolean supportsColorCodes() {
         return supportColorCodes;
@@ -86,21 +290,25 @@ public class AtumConfigManager implements ConfigManager {
     @Override
     public @NotNull Config createConfigFromStream(@NotNull ConfigType type,
                                                   @NotNull InputStream stream) {
-        InputStreamReader reader = new InputStreamReader(stream);
-        String s = ConfigTypeHandler.readToString(reader);
-        return createConfig(
-                type,
-                ConfigTypeHandler.toMap(this,type,s)
-        );
+        AtumConfig config = new AtumConfig(this, type);
+        try (InputStream input = stream) {
+            config.applyNormalizedData(
+                    getTypeHandler(type).load(this, input)
+            );
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return config;
     }
 
     @Override
     public @NotNull Config createConfigFromString(@NotNull ConfigType type,
                                                   @NotNull String input) {
-        return createConfig(
-                type,
+        AtumConfig config = new AtumConfig(this, type);
+        config.applyNormalizedData(
                 ConfigTypeHandler.toMap(this,type,input)
         );
+        return config;
     }
 
     @Override
@@ -127,6 +335,21 @@ public class AtumConfigManager implements ConfigManager {
 
     @Override
     public void reloadAll() {
+        ConfigSnapshotStore snapshots = snapshotStore;
+        if (snapshots == null) {
+            reloadFiles();
+            return;
+        }
+        snapshots.beginBatch();
+        try {
+            reloadFiles();
+        } finally {
+            snapshots.endBatch();
+        }
+    }
+
+    private void reloadFiles() {
+        clearExpressionCache();
         List<String> removal = new ArrayList<>();
         for (Map.Entry<String, ConfigFile> entry : configFilesMap.entrySet()) {
             if (!entry.getValue().getFile().exists() || !entry.getValue().getFile().isFile()) {
@@ -151,18 +374,102 @@ public class AtumConfigManager implements ConfigManager {
 
     }
 
+    @Override
+    public void saveAll() {
+        for (ConfigFile configFile : configFilesMap.values()) {
+            save(configFile);
+        }
+        for (ConfigCatalog catalog : configCatalogsMap.values()) {
+            for (ConfigFile configFile : catalog.getConfigFilesMap().values()) {
+                save(configFile);
+            }
+        }
+    }
+
+    private void save(@NotNull ConfigFile configFile) {
+        try {
+            configFile.save();
+        } catch (Exception exception) {
+            getLogger().logError(
+                    "Caught an Exception while trying to save the config with name:" + configFile.getId(),
+                    exception
+            );
+        }
+    }
+
+    @Override
+    public synchronized void startWatching(long debounceMillis) throws IOException {
+        if (debounceMillis < 0) {
+            throw new IllegalArgumentException("Debounce must not be negative, got " + debounceMillis);
+        }
+        if (watcher != null) {
+            return;
+        }
+        AtumConfigWatcher created = new AtumConfigWatcher(this, debounceMillis);
+        created.start();
+        watcher = created;
+    }
+
+    @Override
+    public synchronized void stopWatching() {
+        if (watcher == null) {
+            return;
+        }
+        watcher.stop();
+        watcher = null;
+    }
+
+    @Override
+    public boolean isWatching() {
+        return watcher != null;
+    }
+
+    /**
+     * Also writes the {@link #getSnapshotStore() snapshots} made since they were last written.
+     */
+    @Override
+    public void flushAll() {
+        writer.flushAll();
+        flushSnapshots();
+    }
+
+    /**
+     * Also writes the {@link #getSnapshotStore() snapshots} made since they were last written.
+     */
+    @Override
+    public void shutdown() {
+        stopWatching();
+        writer.stop();
+        flushSnapshots();
+    }
+
+    private void flushSnapshots() {
+        ConfigSnapshotStore snapshots = snapshotStore;
+        if (snapshots != null) {
+            snapshots.flush();
+        }
+    }
+
 
 
 
     @Override
     public @NotNull ConfigManager addConfigFile(@NotNull ConfigFile config) {
         configFilesMap.put(config.getName(), config);
+        AtumConfigWatcher current = watcher;
+        if (current != null) {
+            current.watch(config);
+        }
         return this;
     }
 
     @Override
     public @NotNull ConfigManager addCatalog(@NotNull ConfigCatalog configCategory) {
         configCatalogsMap.put(configCategory.getId(), configCategory);
+        AtumConfigWatcher current = watcher;
+        if (current != null) {
+            current.watch(configCategory);
+        }
         return this;
     }
 
@@ -187,8 +494,73 @@ public class AtumConfigManager implements ConfigManager {
         return Optional.ofNullable((ConfigParser<T>)configParsersMap.get(clazz));
     }
 
+    @Override
+    public @NotNull Optional<ConfigParser<?>> getConfigParserFor(@NotNull Class<?> clazz) {
+        return parserResolution.get(clazz);
+    }
+
     @Override
     public void addConfigParser(@NotNull ConfigParser<?> configParser) {
         configParsersMap.put(configParser.getClassParsed(), configParser);
+        parserResolution = newParserResolution();
+    }
+
+    private @NotNull ClassValue<Optional<ConfigParser<?>>> newParserResolution() {
+        return new ClassValue<Optional<ConfigParser<?>>>() {
+            @Override
+            protected Optional<ConfigParser<?>> computeValue(Class<?> type) {
+                return resolveConfigParser(type);
+            }
+        };
+    }
+
+    private @NotNull Optional<ConfigParser<?>> resolveConfigParser(@NotNull Class<?> clazz) {
+        return ConfigManager.super.getConfigParserFor(clazz);
+    }
+
+    /**
+     * Returns the handler reading and writing configs of the type.
+     *
+     * @param type the config type
+     * @return the registered handler, or the built-in one
+     */
+    public @NotNull ConfigTypeHandler getTypeHandler(@NotNull ConfigType type) {
+        ConfigTypeHandler handler = typeHandlersMap.get(type);
+        return handler != null ? handler : ConfigTypeHandlers.HANDLERS.get(type);
+    }
+
+    /**
+     * Registers a handler for the {@link ConfigTypeHandler#getType() type} it handles,
+     * replacing the built-in handler for the configs of this manager.
+     * Configs loaded before keep their values until reloaded.
+     *
+     * @param typeHandler the handler to register
+     */
+    public void addTypeHandler(@NotNull ConfigTypeHandler typeHandler) {
+        typeHandlersMap.put(typeHandler.getType(), typeHandler);
+    }
+
+    /**
+     * Returns the handler of the format registered for the file extension.
+     *
+     * @param fileExtension the extension without the leading dot
+     * @return the handler, or null if no format is registered for the extension
+     */
+    public @Nullable ConfigTypeHandler getFormatHandler(@NotNull String fileExtension) {
+        return formatHandlers.get(fileExtension);
+    }
+
+    @Override
+    public @NotNull Optional<ConfigFormat> getConfigFormat(@NotNull String fileExtension) {
+        TypeHandlerFormat handler = formatHandlers.get(fileExtension);
+        return handler != null ? Optional.of(handler.getFormat()) : Optional.empty();
+    }
+
+    @Override
+    public void addConfigFormat(@NotNull String fileExtension, @NotNull ConfigFormat format) {
+        if (fileExtension.isEmpty() || fileExtension.startsWith(".")) {
+            throw new IllegalArgumentException("Invalid file extension '" + fileExtension + "', expected it without the leading dot");
+        }
+        formatHandlers.put(fileExtension, new TypeHandlerFormat(format));
     }
 }
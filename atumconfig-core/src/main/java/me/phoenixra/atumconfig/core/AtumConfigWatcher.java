@@ -0,0 +1,224 @@
+package me.phoenixra.atumconfig.core;
+
+import me.phoenixra.atumconfig.api.ConfigManager;
+import me.phoenixra.atumconfig.api.config.ConfigFile;
+import me.phoenixra.atumconfig.api.config.catalog.ConfigCatalog;
+import me.phoenixra.atumconfig.core.config.AtumConfigFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches the directories of the config files and catalogs of a manager
+ * and reloads what changed on disk.
+ * <p>
+ * Events are debounced per config file and per catalog: a reload runs
+ * once no further event arrived for the debounce delay, so editors
+ * writing a file several times trigger a single reload.
+ * Config files are reloaded in place, catalogs via
+ * {@link ConfigCatalog#reloadIncremental()}, both on the watcher's scheduler thread.
+ * Files written by the manager itself and files with unsaved changes
+ * are not reloaded, see {@link AtumConfigFile#reloadChanged()}.
+ */
+class AtumConfigWatcher {
+    private static final WatchEvent.Kind<?>[] KINDS = {ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE};
+    /**
+     * Polling watch services, used on file systems without native notifications
+     * such as on macOS, check for changes every 10 seconds by default.
+     * The JDK-specific high sensitivity modifier shortens that to 2 seconds
+     * and is ignored by native watch services, so it is used where available.
+     */
+    private static final WatchEvent.Modifier[] MODIFIERS = sensitivityModifiers();
+
+    private final ConfigManager manager;
+    private final long debounceMillis;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirs = new ConcurrentHashMap<>();
+    private final Map<Object, ScheduledFuture<?>> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final Thread pollThread;
+    private volatile boolean running = true;
+
+    AtumConfigWatcher(@NotNull ConfigManager manager, long debounceMillis) throws IOException {
+        this.manager = manager;
+        this.debounceMillis = debounceMillis;
+        this.watchService = manager.getDirectory().getFileSystem().newWatchService();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "AtumConfig-watcher-" + manager.getId() + "-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.pollThread = new Thread(this::poll, "AtumConfig-watcher-" + manager.getId());
+        this.pollThread.setDaemon(true);
+    }
+
+    void start() {
+        manager.getConfigFilesMap().values().forEach(this::watch);
+        manager.getConfigCatalogsMap().values().forEach(this::watch);
+        pollThread.start();
+    }
+
+    void stop() {
+        running = false;
+        pollThread.interrupt();
+        scheduler.shutdownNow();
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            manager.getLogger().logError("Failed to close the config watcher", e);
+        }
+    }
+
+    void watch(@NotNull ConfigFile config) {
+        Path parent = absolutePathOf(config).getParent();
+        if (parent != null) {
+            register(parent);
+        }
+    }
+
+    void watch(@NotNull ConfigCatalog catalog) {
+        Path dir = catalog.getDirectory().toAbsolutePath().normalize();
+        if (!Files.isDirectory(dir)) {
+            // created on the first reload of the catalog
+            return;
+        }
+        if (!catalog.isNestedDirectories()) {
+            register(dir);
+            return;
+        }
+        registerTree(dir);
+    }
+
+    private void registerTree(@NotNull Path dir) {
+        try (Stream<Path> stream = Files.walk(dir)) {
+            stream.filter(Files::isDirectory).forEach(this::register);
+        } catch (IOException e) {
+            manager.getLogger().logError("Failed to watch directory " + dir, e);
+        }
+    }
+
+    private void register(@NotNull Path dir) {
+        if (watchedDirs.containsValue(dir)) {
+            return;
+        }
+        try {
+            watchedDirs.put(dir.register(watchService, KINDS, MODIFIERS), dir);
+        } catch (IOException e) {
+            manager.getLogger().logError("Failed to watch directory " + dir, e);
+        }
+    }
+
+    private static WatchEvent.Modifier[] sensitivityModifiers() {
+        try {
+            Class<?> type = Class.forName("com.sun.nio.file.SensitivityWatchEventModifier");
+            return new WatchEvent.Modifier[]{(WatchEvent.Modifier) type.getField("HIGH").get(null)};
+        } catch (ReflectiveOperationException | ClassCastException | LinkageError e) {
+            return new WatchEvent.Modifier[0];
+        }
+    }
+
+    private void poll() {
+        while (running) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            Path dir = watchedDirs.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW || dir == null) {
+                    // events were lost, reload everything that is watched
+                    manager.getConfigFilesMap().values().forEach(this::schedule);
+                    manager.getConfigCatalogsMap().values().forEach(this::schedule);
+                    continue;
+                }
+                onChange(dir.resolve((Path) event.context()), event.kind() == ENTRY_CREATE);
+            }
+            if (!key.reset()) {
+                watchedDirs.remove(key);
+            }
+        }
+    }
+
+    private void onChange(@NotNull Path changed, boolean created) {
+        for (ConfigFile config : manager.getConfigFilesMap().values()) {
+            if (absolutePathOf(config).equals(changed)) {
+                schedule(config);
+            }
+        }
+        for (ConfigCatalog catalog : manager.getConfigCatalogsMap().values()) {
+            Path dir = catalog.getDirectory().toAbsolutePath().normalize();
+            boolean inCatalog = catalog.isNestedDirectories()
+                    ? changed.startsWith(dir) && !changed.equals(dir)
+                    : dir.equals(changed.getParent());
+            if (!inCatalog) {
+                continue;
+            }
+            if (created && catalog.isNestedDirectories() && Files.isDirectory(changed)) {
+                registerTree(changed);
+            }
+            schedule(catalog);
+        }
+    }
+
+    /**
+     * (Re)starts the debounce delay of the target.
+     */
+    private void schedule(@NotNull Object target) {
+        if (!running) {
+            return;
+        }
+        try {
+            pending.compute(target, (key, previous) -> {
+                if (previous != null) {
+                    previous.cancel(false);
+                }
+                return scheduler.schedule(() -> {
+                    pending.remove(key);
+                    reload(key);
+                }, debounceMillis, TimeUnit.MILLISECONDS);
+            });
+        } catch (RejectedExecutionException ignored) {
+            // stopped meanwhile
+        }
+    }
+
+    private void reload(@NotNull Object target) {
+        if (target instanceof ConfigCatalog) {
+            ConfigCatalog catalog = (ConfigCatalog) target;
+            try {
+                catalog.reloadIncremental();
+            } catch (Exception e) {
+                manager.getLogger().logError("Failed to reload catalog '" + catalog.getId() + "'", e);
+            }
+            // the catalog directory may have been created by the reload
+            watch(catalog);
+            return;
+        }
+        ConfigFile config = (ConfigFile) target;
+        if (!config.getFile().isFile()) {
+            // deleted, or replaced by an editor; the next create event reloads it
+            return;
+        }
+        try {
+            if (config instanceof AtumConfigFile) {
+                ((AtumConfigFile) config).reloadChanged();
+            } else {
+                config.reload();
+            }
+        } catch (Exception e) {
+            manager.getLogger().logError("Failed to reload config '" + config.getId() + "'", e);
+        }
+    }
+
+    private static @NotNull Path absolutePathOf(@NotNull ConfigFile config) {
+        return config.getFile().toPath().toAbsolutePath().normalize();
+    }
+}
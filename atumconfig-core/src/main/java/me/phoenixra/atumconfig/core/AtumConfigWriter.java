@@ -0,0 +1,109 @@
+package me.phoenixra.atumconfig.core;
+
+import me.phoenixra.atumconfig.core.config.AtumConfigFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * Writes config files in write-behind mode on a background thread.
+ * <p>
+ * The first change of a file schedules a write after the write-behind delay
+ * of the manager; further changes until then are written by the same write,
+ * so a file is serialized and written at most once per delay.
+ * The thread and a JVM shutdown hook flushing pending files
+ * are only created once a write is scheduled.
+ */
+class AtumConfigWriter {
+    private final AtumConfigManager manager;
+    private final Set<AtumConfigFile> pending = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService scheduler;
+    private Thread shutdownHook;
+    private boolean stopped;
+
+    AtumConfigWriter(@NotNull AtumConfigManager manager) {
+        this.manager = manager;
+    }
+
+    void schedule(@NotNull AtumConfigFile file) {
+        if (!pending.add(file)) {
+            return;
+        }
+        ScheduledExecutorService current = scheduler();
+        try {
+            if (current != null) {
+                current.schedule(() -> {
+                    if (pending.remove(file)) {
+                        write(file);
+                    }
+                }, manager.getWriteBehindMillis(), TimeUnit.MILLISECONDS);
+                return;
+            }
+        } catch (RejectedExecutionException ignored) {
+            // stopped meanwhile
+        }
+        // stopped: write on the calling thread instead of losing the change
+        if (pending.remove(file)) {
+            write(file);
+        }
+    }
+
+    /**
+     * Writes all pending files on the calling thread.
+     */
+    void flushAll() {
+        for (AtumConfigFile file : new ArrayList<>(pending)) {
+            if (pending.remove(file)) {
+                write(file);
+            }
+        }
+    }
+
+    /**
+     * Writes all pending files and stops the background thread.
+     * Files scheduled afterwards are written on the calling thread.
+     */
+    void stop() {
+        synchronized (this) {
+            stopped = true;
+            if (scheduler != null) {
+                scheduler.shutdown();
+            }
+            if (shutdownHook != null) {
+                try {
+                    Runtime.getRuntime().removeShutdownHook(shutdownHook);
+                } catch (IllegalStateException ignored) {
+                    // already shutting down, the hook is running
+                }
+            }
+        }
+        flushAll();
+    }
+
+    private synchronized ScheduledExecutorService scheduler() {
+        if (stopped) {
+            return null;
+        }
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "AtumConfig-writer-" + manager.getId());
+                thread.setDaemon(true);
+                return thread;
+            });
+            shutdownHook = new Thread(this::flushAll, "AtumConfig-writer-" + manager.getId() + "-shutdown");
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        }
+        return scheduler;
+    }
+
+    private void write(@NotNull AtumConfigFile file) {
+        try {
+            file.flush();
+        } catch (IOException | RuntimeException e) {
+            manager.getLogger().logError("Failed to save config '" + file.getId() + "'", e);
+        }
+    }
+}
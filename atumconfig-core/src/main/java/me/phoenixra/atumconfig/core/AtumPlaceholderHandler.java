@@ -5,28 +5,53 @@ import lombok.Getter;
 import me.phoenixra.atumconfig.api.ConfigLogger;
 import me.phoenixra.atumconfig.api.placeholders.Placeholder;
 import me.phoenixra.atumconfig.api.placeholders.PlaceholderHandler;
+import me.phoenixra.atumconfig.api.placeholders.PlaceholderIndex;
+import me.phoenixra.atumconfig.api.placeholders.PlaceholderScanner;
 import me.phoenixra.atumconfig.api.placeholders.context.PlaceholderContext;
-import me.phoenixra.atumconfig.api.tuples.PairRecord;
-import me.phoenixra.atumconfig.api.utils.StringUtils;
+import me.phoenixra.atumconfig.api.placeholders.context.PlaceholderList;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 public class AtumPlaceholderHandler implements PlaceholderHandler {
-    private static final ExecutorService EXECUTOR =
-            Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
 
 
     @Getter
     private final ConfigLogger logger;
 
 
-    @Getter
     private final Set<Placeholder> globalPlaceholders = new CopyOnWriteArraySet<>();
 
+    /**
+     * Index of {@link #globalPlaceholders}, replaced on every change
+     */
+    private volatile PlaceholderIndex globalIndex = PlaceholderIndex.EMPTY;
+
+    /**
+     * Maximum amount of values kept in {@link #ttlCache}
+     */
+    private static final int TTL_CACHE_MAX_SIZE = 4096;
+
+    /**
+     * Values of placeholders with a {@link Placeholder#getCacheTtlMillis() time to live},
+     * least recently used first. Guarded by itself.
+     * <p>
+     * Expired values are replaced when their token is resolved again,
+     * and the least recently used values are evicted once the cache is full,
+     * so tokens that are never resolved again do not accumulate.
+     */
+    private final LinkedHashMap<CacheKey, CachedValue> ttlCache =
+            new LinkedHashMap<CacheKey, CachedValue>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<CacheKey, CachedValue> eldest) {
+                    return size() > TTL_CACHE_MAX_SIZE;
+                }
+            };
+
 
     public AtumPlaceholderHandler(@NotNull ConfigLogger logger){
         this.logger = logger;
@@ -44,66 +69,290 @@ public class AtumPlaceholderHandler implements PlaceholderHandler {
     @Override
     public String translatePlaceholders(@NotNull final String text,
                                         @NotNull final PlaceholderContext context) {
+        PlaceholderList contextList = context.placeholderList();
+        return translate(text, context, token -> findPlaceholder(token, contextList), new HashMap<>());
+    }
 
-        List<Future<PairRecord<String, String>>> futures = new ArrayList<>();
-
-        for (String textToReplace : PlaceholderHandler.findPlaceholdersIn(text)) {
-            Future<PairRecord<String, String>> future = EXECUTOR.submit(() -> {
-                for (Placeholder placeholder : context.placeholderList().getPlaceholders()) {
-                    if (textToReplace.matches(placeholder.getPattern().pattern())) {
-                        String replacement = placeholder.getValue(textToReplace, context);
-                        if (replacement == null) return new PairRecord<>("", "");
-                        return new PairRecord<>(
-                                textToReplace,
-                                replacement
-                        );
-                    }
-                }
-                for (Placeholder placeholder : globalPlaceholders) {
-                    if (textToReplace.matches(placeholder.getPattern().pattern())) {
-                        String replacement = placeholder.getValue(textToReplace, context);
-                        if (replacement == null) return new PairRecord<>("", "");
-                        return new PairRecord<>(
-                                textToReplace,
-                                replacement
-                        );
-                    }
+    /**
+     * Translates all lines, resolving each distinct token once for the whole batch.
+     * Context placeholders are looked up through the index cached by versioned lists,
+     * or indexed once for the batch otherwise, instead of being scanned for every token.
+     */
+    @NotNull
+    @Override
+    public List<String> translatePlaceholders(@NotNull final List<String> lines,
+                                              @NotNull final PlaceholderContext context) {
+        PlaceholderList contextList = context.placeholderList();
+        Function<String, Placeholder> contextLookup;
+        if (contextList.getPlaceholderVersion() != PlaceholderList.UNVERSIONED) {
+            contextLookup = contextList::findPlaceholder;
+        } else {
+            contextLookup = PlaceholderIndex.of(contextList.getPlaceholders())::find;
+        }
+        PlaceholderIndex global = globalIndex;
+        Function<String, Placeholder> lookup = token -> {
+            Placeholder placeholder = contextLookup.apply(token);
+            return placeholder != null ? placeholder : global.find(token);
+        };
+        Map<String, String> values = new HashMap<>();
+        List<String> out = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            out.add(translate(line, context, lookup, values));
+        }
+        return out;
+    }
+
+    /**
+     * Translates the text in a single pass.
+     *
+     * @param lookup finds the placeholder of a token
+     * @param values values of already resolved tokens, filled with the new ones
+     */
+    private @NotNull String translate(@NotNull String text,
+                                      @NotNull PlaceholderContext context,
+                                      @NotNull Function<String, Placeholder> lookup,
+                                      @NotNull Map<String, String> values) {
+        PlaceholderScanner scanner = new PlaceholderScanner(text);
+        if (!scanner.find()) {
+            return text;
+        }
+
+        // every occurrence: its token and where it starts
+        String[] tokens = new String[4];
+        int[] starts = new int[4];
+        int count = 0;
+        Map<String, Placeholder> expensive = null;
+        do {
+            if (count == tokens.length) {
+                tokens = Arrays.copyOf(tokens, count * 2);
+                starts = Arrays.copyOf(starts, count * 2);
+            }
+            String token = scanner.token();
+            tokens[count] = token;
+            starts[count++] = scanner.start();
+
+            if (values.containsKey(token) || (expensive != null && expensive.containsKey(token))) {
+                continue;
+            }
+            Placeholder placeholder = lookup.apply(token);
+            if (placeholder != null && placeholder.isExpensive()
+                    && !context.hasMemoized(placeholder, token)) {
+                if (expensive == null) {
+                    expensive = new LinkedHashMap<>();
                 }
-                return new PairRecord<>("", "");
-            });
-            futures.add(future);
-        }
-
-        String translated = text;
-        for (Future<PairRecord<String, String>> future : futures) {
-            try {
-                PairRecord<String, String> result = future.get();
-                if (result.first().isEmpty()) continue;
-                translated = StringUtils.replaceFast(translated,
-                        result.first(),
-                        result.second()
-                );
-            } catch (InterruptedException | ExecutionException e) {
-                getLogger().logError(
-                        "Placeholders exception ", e
-                );
+                expensive.put(token, placeholder);
+                continue;
+            }
+            values.put(token, resolve(placeholder, token, context));
+        } while (scanner.find());
 
+        if (expensive != null) {
+            resolveExpensive(expensive, values, context);
+        }
+
+        StringBuilder out = new StringBuilder(text.length() + 16 * count);
+        int last = 0;
+        for (int i = 0; i < count; i++) {
+            String value = values.get(tokens[i]);
+            if (value == null) {
+                // untranslated tokens are kept as they are
+                continue;
             }
+            out.append(text, last, starts[i]).append(value);
+            last = starts[i] + tokens[i].length();
         }
+        out.append(text, last, text.length());
+        return out.toString();
+    }
 
-        return translated;
+    /**
+     * Resolves expensive placeholders in parallel,
+     * keeping the first one on the calling thread.
+     */
+    private void resolveExpensive(@NotNull Map<String, Placeholder> expensive,
+                                  @NotNull Map<String, String> values,
+                                  @NotNull PlaceholderContext context) {
+        Map<String, Future<String>> futures = new HashMap<>();
+        Map.Entry<String, Placeholder> first = null;
+        for (Map.Entry<String, Placeholder> entry : expensive.entrySet()) {
+            if (first == null) {
+                first = entry;
+                continue;
+            }
+            Placeholder placeholder = entry.getValue();
+            String token = entry.getKey();
+            futures.put(token, ExpensiveResolver.submit(() -> resolve(placeholder, token, context)));
+        }
+        values.put(first.getKey(), resolve(first.getValue(), first.getKey(), context));
+        for (Map.Entry<String, Future<String>> entry : futures.entrySet()) {
+            values.put(entry.getKey(), await(entry.getValue()));
+        }
+    }
+
+    @Override
+    public @Nullable String resolvePlaceholder(@NotNull String token,
+                                               @NotNull PlaceholderContext context) {
+        return resolve(findPlaceholder(token, context.placeholderList()), token, context);
     }
 
+    /**
+     * Finds the placeholder matching the token, context placeholders first.
+     */
+    private @Nullable Placeholder findPlaceholder(@NotNull String token,
+                                                  @NotNull PlaceholderList contextList) {
+        Placeholder placeholder = contextList.findPlaceholder(token);
+        return placeholder != null ? placeholder : globalIndex.find(token);
+    }
 
+    /**
+     * Resolves the value of a token, or null if it stays untranslated.
+     * Uses and fills the memo of the context and the time-to-live cache.
+     */
+    private @Nullable String resolve(@Nullable Placeholder placeholder,
+                                     @NotNull String token,
+                                     @NotNull PlaceholderContext context) {
+        if (placeholder == null) {
+            return null;
+        }
+        if (context.hasMemoized(placeholder, token)) {
+            return context.getMemoized(placeholder, token);
+        }
+        long ttl = placeholder.getCacheTtlMillis();
+        CacheKey key = null;
+        if (ttl > 0) {
+            key = new CacheKey(placeholder, token);
+            CachedValue cached;
+            synchronized (ttlCache) {
+                cached = ttlCache.get(key);
+            }
+            if (cached != null && !cached.isExpired(System.nanoTime())) {
+                context.memoize(placeholder, token, cached.value);
+                return cached.value;
+            }
+        }
+        String value;
+        try {
+            value = placeholder.getValue(token, context);
+        } catch (RuntimeException e) {
+            // failures are neither memoized nor cached
+            getLogger().logError("Placeholders exception ", e);
+            return null;
+        }
+        if (key != null) {
+            cacheValue(key, value, ttl);
+        }
+        context.memoize(placeholder, token, value);
+        return value;
+    }
+
+    private void cacheValue(@NotNull CacheKey key, @Nullable String value, long ttl) {
+        CachedValue cached = new CachedValue(value, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttl));
+        synchronized (ttlCache) {
+            ttlCache.put(key, cached);
+        }
+    }
+
+    private @Nullable String await(@NotNull Future<String> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            getLogger().logError("Placeholders exception ", e);
+        } catch (ExecutionException e) {
+            getLogger().logError("Placeholders exception ", e.getCause());
+        }
+        return null;
+    }
+
+
+
+    @Override
+    public synchronized void registerGlobalPlaceholder(@NotNull final Placeholder placeholder) {
+        if (globalPlaceholders.add(placeholder)) {
+            globalIndex = globalIndex.with(placeholder);
+        }
+    }
 
     @Override
-    public void registerGlobalPlaceholder(@NotNull final Placeholder placeholder) {
-        globalPlaceholders.add(placeholder);
+    public synchronized void unregisterGlobalPlaceholder(@NotNull Placeholder placeholder) {
+        if (globalPlaceholders.remove(placeholder)) {
+            globalIndex = globalIndex.without(placeholder);
+            synchronized (ttlCache) {
+                ttlCache.keySet().removeIf(key -> key.placeholder.equals(placeholder));
+            }
+        }
     }
 
+    /**
+     * Returns a read-only view of the global placeholders.
+     * Use {@link #registerGlobalPlaceholder(Placeholder)} and
+     * {@link #unregisterGlobalPlaceholder(Placeholder)} to change them.
+     */
     @Override
-    public void unregisterGlobalPlaceholder(@NotNull Placeholder placeholder) {
-        globalPlaceholders.remove(placeholder);
+    public @NotNull Set<Placeholder> getGlobalPlaceholders() {
+        return Collections.unmodifiableSet(globalPlaceholders);
+    }
+
+
+    /**
+     * Resolves {@link Placeholder#isExpensive() expensive} placeholders in parallel.
+     * The pool is only created once an expensive placeholder is used.
+     */
+    private static final class ExpensiveResolver {
+        private static final AtomicInteger COUNTER = new AtomicInteger();
+        private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "AtumConfig-placeholders-" + COUNTER.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+
+        private static @NotNull Future<String> submit(@NotNull Callable<String> task) {
+            return EXECUTOR.submit(task);
+        }
+    }
+
+    private static final class CacheKey {
+        private final Placeholder placeholder;
+        private final String token;
+
+        private CacheKey(@NotNull Placeholder placeholder, @NotNull String token) {
+            this.placeholder = placeholder;
+            this.token = token;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey that = (CacheKey) o;
+            return placeholder.equals(that.placeholder) && token.equals(that.token);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * placeholder.hashCode() + token.hashCode();
+        }
+    }
+
+    private static final class CachedValue {
+        private final String value;
+        private final long expiresAt;
+
+        private CachedValue(@Nullable String value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
     }
 
 }
@@ -4,10 +4,13 @@ import lombok.Getter;
 import me.phoenixra.atumconfig.api.ConfigManager;
 import me.phoenixra.atumconfig.api.config.Config;
 import me.phoenixra.atumconfig.api.config.ConfigParser;
+import me.phoenixra.atumconfig.api.config.ConfigPath;
 import me.phoenixra.atumconfig.api.config.ConfigType;
+import me.phoenixra.atumconfig.api.placeholders.CompiledTemplate;
 import me.phoenixra.atumconfig.api.placeholders.Placeholder;
 import me.phoenixra.atumconfig.api.placeholders.PlaceholderHandler;
 import me.phoenixra.atumconfig.api.placeholders.context.PlaceholderContext;
+import me.phoenixra.atumconfig.api.utils.StringUtils;
 import me.phoenixra.atumconfig.core.AtumConfigManager;
 import me.phoenixra.atumconfig.core.config.typehandlers.ConfigTypeHandler;
 import org.jetbrains.annotations.NotNull;
@@ -16,16 +19,81 @@ import redempt.crunch.Crunch;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class AtumConfig implements Config {
+    /**
+     * Maximum amount of cached list views per element type, see {@link #getListView}.
+     */
+    private static final int LIST_VIEW_CACHE_SIZE = 256;
+    /**
+     * Maximum amount of cached templates, see {@link #getTemplateOrNull(String)}.
+     */
+    private static final int TEMPLATE_CACHE_SIZE = 256;
+
     @Getter
     protected ConfigManager configOwner;
     protected ConfigType configType;
 
     protected List<Placeholder> injectedPlaceholders = Collections.synchronizedList(new ArrayList<>());
 
-    protected Map<String, Object> values =  Collections.synchronizedMap(new LinkedHashMap<>());
+    /**
+     * Incremented on every change of {@link #injectedPlaceholders},
+     * see {@link #getPlaceholderVersion()}.
+     */
+    private final AtomicLong placeholderVersion = new AtomicLong();
+
+    /**
+     * Immutable, insertion-ordered snapshot of the values.
+     * Never modified in place: writers build a copy under {@link #writeLock}
+     * and publish it, so readers never block and always see a complete map.
+     */
+    protected volatile Map<String, Object> values = Collections.emptyMap();
+
+    private final Object writeLock = new Object();
+
+    /**
+     * The config this one is stored in, or null for a root config.
+     * Used to propagate modifications to the path indexes of ancestors.
+     */
+    private volatile AtumConfig parent;
+
+    /**
+     * Incremented after every published change of this config
+     * or of any subsection stored in it.
+     */
+    private final AtomicLong modCount = new AtomicLong();
+
+    /**
+     * Lazily built flattened view of this config, see {@link #getPathIndex()}.
+     */
+    private volatile PathIndex pathIndex;
+    /**
+     * Modification count seen by the last deep lookup that found
+     * {@link #pathIndex} stale, see {@link #getPathIndex()}.
+     */
+    private volatile long settledModCount = -1;
+
+    /**
+     * Converted list views per element type and path, see {@link #getListView}.
+     * Entries of a path are dropped when the path, one of its subpaths
+     * or one of its sections is set through this config.
+     */
+    private final Map<Class<?>, Map<String, ListView>> listViews = new ConcurrentHashMap<>();
+
+    /**
+     * Compiled templates per path, see {@link #getTemplateOrNull(String)}.
+     * Entries are dropped like the list views.
+     */
+    private final Map<String, TemplateView> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Objects parsed from this config by parsers with immutable results,
+     * per parsed class, see {@link #getParsedView(ConfigParser)}.
+     */
+    private final Map<Class<?>, ParsedView> parsedViews = new ConcurrentHashMap<>();
 
     public AtumConfig(ConfigManager configOwner, ConfigType configType, Map<String, Object> values) {
         this.configOwner = configOwner;
@@ -40,23 +108,72 @@ public class AtumConfig implements Config {
     @Override
     public void applyData(@NotNull Map<String, Object> values){
         Objects.requireNonNull(values);
-        this.values.clear();
+        Map<String, Object> data = new LinkedHashMap<>();
+        for(Map.Entry<String, Object> entry : values.entrySet()){
+            String key = entry.getKey();
+            Object value = entry.getValue();
+            if(key.indexOf(ConfigPath.SEPARATOR) == -1){
+                putConstrained(data, key, value);
+            }else{
+                putNested(data, ConfigPath.parse(key), value);
+            }
+        }
+        publish(data);
+    }
+
+    /**
+     * Overwrites this config's data with values that are already
+     * constrained to config types, as produced by
+     * {@link ConfigTypeHandler#load(ConfigManager, ConfigType, java.io.Reader)}:
+     * nested objects are {@link AtumConfigSection}s and lists are unmodifiable.
+     * <p>
+     * Unlike {@link #applyData(Map)}, values are stored as they are,
+     * without converting them a second time.
+     *
+     * @param values non-null key→value map of constrained values
+     */
+    public void applyNormalizedData(@NotNull Map<String, Object> values){
+        Objects.requireNonNull(values);
+        Map<String, Object> data = new LinkedHashMap<>();
         for(Map.Entry<String, Object> entry : values.entrySet()){
-            set(entry.getKey(), entry.getValue());
+            String key = entry.getKey();
+            Object value = entry.getValue();
+            if(key.indexOf(ConfigPath.SEPARATOR) != -1){
+                putNested(data, ConfigPath.parse(key), value);
+            }else if(value instanceof AtumConfig){
+                data.put(key, adopt((AtumConfig) value));
+            }else if(value != null){
+                data.put(key, value);
+            }
         }
+        publish(data);
+    }
+
+    private void publish(@NotNull Map<String, Object> data) {
+        synchronized (writeLock) {
+            this.values = Collections.unmodifiableMap(data);
+        }
+        listViews.clear();
+        templates.clear();
+        markModified();
     }
 
     @Override
     public @NotNull List<String> getKeys(boolean deep) {
-        return deep ? recurseKeys(new HashSet<>(),"") : new ArrayList<>(values.keySet());
+        if(!deep){
+            return new ArrayList<>(values.keySet());
+        }
+        PathIndex index = getPathIndex();
+        return index != null ? new ArrayList<>(index.entries.keySet()) : recurseKeys(new HashSet<>(),"");
     }
 
     @Override
     public @NotNull List<String> recurseKeys(@NotNull Set<String> current, @NotNull String root) {
         Set<String> list = new HashSet<>();
-        for (String key : getKeys(false)) {
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            String key = entry.getKey();
             list.add(root+key);
-            Object found = get(key);
+            Object found = entry.getValue();
 
             if (found instanceof Config) {
                 list.addAll(((Config) found).recurseKeys(current, root+key+"."));
@@ -68,56 +185,253 @@ public class AtumConfig implements Config {
 
     @Override
     public @Nullable Object get(@NotNull String path) {
-        String nearestPath = path.split("\\.")[0];
-        if(path.contains(".")){
-            String remainingPath = path.replaceFirst(nearestPath+"\\.","");
-            if(remainingPath.isEmpty()){
+        return get(ConfigPath.of(path));
+    }
+
+    @Override
+    public @Nullable Object get(@NotNull ConfigPath path) {
+        if(!path.isAddressable()){
+            return null;
+        }
+        if(path.isSimple()){
+            return values.get(path.first());
+        }
+        PathIndex index = getPathIndex();
+        if(index != null){
+            return index.entries.get(path.toString());
+        }
+        AtumConfig current = this;
+        int last = path.size() - 1;
+        for(int i = 0; i < last; i++){
+            Object next = current.values.get(path.segment(i));
+            if(next instanceof AtumConfig){
+                current = (AtumConfig) next;
+            }else if(next instanceof Config){
+                return ((Config) next).get(path.subPath(i + 1));
+            }else{
                 return null;
             }
-            Object first = get(nearestPath);
-            if(first instanceof Config){
-                return ((Config) first).get(remainingPath);
-            }
-            return null;
         }
-        return values.get(nearestPath);
+        return current.values.get(path.last());
     }
 
     @Override
     public void set(@NotNull String path, @Nullable Object obj) {
-        if((obj instanceof Config) && !(obj instanceof AtumConfigSection)){
-            obj = new AtumConfigSection((Config)obj);
+        set(ConfigPath.of(path), obj);
+    }
+
+    @Override
+    public void set(@NotNull ConfigPath path, @Nullable Object obj) {
+        if(!path.isAddressable()){
+            return;
         }
-        String nearestPath = path.split("\\.")[0];
-        if(path.contains(".")){
-            String remainingPath = path.replaceFirst(nearestPath+"\\.","");
-            if(remainingPath.isEmpty()){
-                return;
-            }
-            Config section = getSubsectionOrNull(nearestPath);
-            if(section==null){
-                section = new AtumConfigSection(
-                        getConfigOwner(),
-                        configType,
-                        null
-                );
+        AtumConfig current = this;
+        int last = path.size() - 1;
+        for(int i = 0; i < last; i++){
+            if(current.hasCachedViews()){
+                current.dropCachedViews(path.subPath(i).toString());
+            }
+            Object next = current.sectionForWrite(path.segment(i));
+            if(next instanceof AtumConfig){
+                current = (AtumConfig) next;
+                continue;
             }
-            section.set(remainingPath, obj);
-            values.put(nearestPath, section);
+            ((Config) next).set(path.subPath(i + 1), obj);
             return;
         }
-        if(obj == null){
-            values.remove(nearestPath);
-        }else{
-            values.put(nearestPath,
-                    ConfigTypeHandler.constrainConfigTypes(configOwner,configType,obj)
+        current.setValue(path.last(), obj);
+    }
+
+    /**
+     * Stores a value directly under the given key of this config,
+     * without resolving any dotted path.
+     *
+     * @param key the key inside this config
+     * @param obj value to store or null to remove
+     */
+    protected void setValue(@NotNull String key, @Nullable Object obj) {
+        Object value = constrain(obj);
+        synchronized (writeLock) {
+            Map<String, Object> copy = new LinkedHashMap<>(values);
+            if(value == null){
+                if(!copy.containsKey(key)) return;
+                copy.remove(key);
+            }else{
+                copy.put(key, value);
+            }
+            values = Collections.unmodifiableMap(copy);
+        }
+        markModified();
+        dropCachedViews(key);
+    }
+
+    /**
+     * Returns the subsection stored under the given key,
+     * atomically creating an empty one if there is none.
+     */
+    private @NotNull Config sectionForWrite(@NotNull String key) {
+        Object existing = values.get(key);
+        if(existing instanceof Config){
+            return (Config) existing;
+        }
+        AtumConfigSection section;
+        synchronized (writeLock) {
+            existing = values.get(key);
+            if(existing instanceof Config){
+                return (Config) existing;
+            }
+            section = new AtumConfigSection(
+                    getConfigOwner(),
+                    configType,
+                    null
             );
+            ((AtumConfig) section).parent = this;
+            Map<String, Object> copy = new LinkedHashMap<>(values);
+            copy.put(key, section);
+            values = Collections.unmodifiableMap(copy);
+        }
+        markModified();
+        return section;
+    }
+
+    private void putNested(@NotNull Map<String, Object> data, @NotNull ConfigPath path, @Nullable Object obj) {
+        if(!path.isAddressable()){
+            return;
+        }
+        if(path.isSimple()){
+            putConstrained(data, path.first(), obj);
+            return;
+        }
+        Object existing = data.get(path.first());
+        Config section;
+        if(existing instanceof Config){
+            section = (Config) existing;
+        }else{
+            AtumConfigSection created = new AtumConfigSection(getConfigOwner(), configType, null);
+            ((AtumConfig) created).parent = this;
+            section = created;
+            data.put(path.first(), section);
+        }
+        section.set(path.subPath(1), obj);
+    }
+
+    private void putConstrained(@NotNull Map<String, Object> data, @NotNull String key, @Nullable Object obj) {
+        Object value = constrain(obj);
+        if(value == null){
+            data.remove(key);
+        }else{
+            data.put(key, value);
+        }
+    }
+
+    private @Nullable Object constrain(@Nullable Object obj) {
+        if(obj == null){
+            return null;
+        }
+        if((obj instanceof Config) && !(obj instanceof AtumConfigSection)){
+            obj = new AtumConfigSection((Config)obj);
+        }
+        Object value = ConfigTypeHandler.constrainConfigTypes(configOwner,configType,obj);
+        if(value instanceof AtumConfig){
+            value = adopt((AtumConfig) value);
+        }
+        return value;
+    }
+
+    /**
+     * Makes this config the parent of the given section.
+     * A section already stored in another config is copied instead,
+     * so that each section reports its modifications to a single parent.
+     */
+    private @NotNull AtumConfig adopt(@NotNull AtumConfig section) {
+        synchronized (section.writeLock) {
+            if(section.parent == null){
+                section.parent = this;
+            }
+            if(section.parent == this){
+                return section;
+            }
+        }
+        AtumConfigSection copy = new AtumConfigSection(section);
+        ((AtumConfig) copy).parent = this;
+        return copy;
+    }
+
+    /**
+     * Records a published change of this config and of all its ancestors.
+     * Must be called after the new values are published.
+     */
+    protected void markModified() {
+        for(AtumConfig current = this; current != null; current = current.parent){
+            current.modCount.incrementAndGet();
+            current.onModified();
+        }
+    }
+
+    /**
+     * Called after a published change of this config
+     * or of any subsection stored in it.
+     */
+    protected void onModified() {
+    }
+
+    /**
+     * Returns the amount of changes made to this config and its subsections.
+     * Any modification increases the value, so two equal results
+     * mean that nothing has changed in between.
+     *
+     * @return the modification count
+     */
+    public long getModCount() {
+        return modCount.get();
+    }
+
+    /**
+     * Returns an up-to-date flattened index of this config,
+     * mapping every full dotted path to its value.
+     * <p>
+     * The index is rebuilt lazily: the first deep lookup after a change
+     * walks the tree as usual, and only the next lookup without
+     * any change in between rebuilds the index. This way configs
+     * that are written as often as they are read never pay for rebuilding.
+     *
+     * @return the index or null if it is disabled or currently stale
+     */
+    private @Nullable PathIndex getPathIndex() {
+        if(!(configOwner instanceof AtumConfigManager)
+                || !((AtumConfigManager) configOwner).isPathIndexEnabled()){
+            return null;
+        }
+        long stamp = modCount.get();
+        PathIndex index = pathIndex;
+        if(index != null && index.stamp == stamp){
+            return index;
+        }
+        if(settledModCount != stamp){
+            settledModCount = stamp;
+            return null;
+        }
+        Map<String, Object> entries = new LinkedHashMap<>();
+        indexValues(entries, "");
+        index = new PathIndex(stamp, Collections.unmodifiableMap(entries));
+        pathIndex = index;
+        return index;
+    }
+
+    private void indexValues(@NotNull Map<String, Object> entries, @NotNull String root) {
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            String key = root + entry.getKey();
+            Object value = entry.getValue();
+            entries.put(key, value);
+            if(value instanceof AtumConfig){
+                ((AtumConfig) value).indexValues(entries, key + ConfigPath.SEPARATOR);
+            }
         }
     }
 
     @Override
     public String toPlaintext() {
-        return ConfigTypeHandler.toString(configType,this.values);
+        return ConfigTypeHandler.toString(configOwner,configType,this.values);
     }
 
     @Override
@@ -134,7 +448,7 @@ public class AtumConfig implements Config {
         }
         Config subsection = getSubsectionOrNull(path);
         if(subsection == null) return null;
-        return parser.get().fromConfig(subsection);
+        return parse(parser.get(), subsection);
     }
 
     @Override
@@ -149,11 +463,50 @@ public class AtumConfig implements Config {
         }
         ConfigParser<T> parser = parserOptional.get();
         return list.stream()
-                .map(parser::fromConfig)
+                .map(section -> parse(parser, section))
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
+    private static <T> @Nullable T parse(@NotNull ConfigParser<T> parser, @NotNull Config section) {
+        if(parser.isResultImmutable() && section instanceof AtumConfig){
+            return ((AtumConfig) section).getParsedView(parser);
+        }
+        return parser.fromConfig(section);
+    }
+
+    /**
+     * Returns the object parsed from this config, parsing it again only
+     * if this config or any of its subsections changed since the last call,
+     * or if another parser is registered for the class meanwhile.
+     * Only for parsers whose results can be shared.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> @Nullable T getParsedView(@NotNull ConfigParser<T> parser) {
+        long stamp = modCount.get();
+        ParsedView view = parsedViews.get(parser.getClassParsed());
+        if(view != null && view.parser == parser && view.stamp == stamp){
+            return (T) view.value;
+        }
+        T value = parser.fromConfig(this);
+        if(modCount.get() == stamp){
+            // not kept if changed while parsing, the result may mix both states
+            parsedViews.put(parser.getClassParsed(), new ParsedView(parser, stamp, value));
+        }
+        return value;
+    }
+
+    @Override
+    public byte getByte(@NotNull String path) {
+        return getByteOrDefault(path, (byte) 0);
+    }
+
+    @Override
+    public byte getByteOrDefault(@NotNull String path, byte def) {
+        Object obj = get(path);
+        return (obj instanceof Number)? ((Number) obj).byteValue() : def;
+    }
+
     @Override
     public @Nullable Byte getByteOrNull(@NotNull String path) {
         Object obj = get(path);
@@ -162,11 +515,28 @@ public class AtumConfig implements Config {
 
     @Override
     public @Nullable List<Byte> getByteListOrNull(@NotNull String path) {
-        List<Number> list = getList(path, Number.class);
-        if(list == null){
-            return null;
-        }
-        return list.stream().map(Number::byteValue).collect(Collectors.toList());
+        return getListView(path, Byte.class, raw -> {
+            List<?> list = asNumericList(raw);
+            if(list == null){
+                return null;
+            }
+            List<Byte> result = new ArrayList<>(list.size());
+            for (Object elem : list) {
+                result.add(((Number) elem).byteValue());
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public short getShort(@NotNull String path) {
+        return getShortOrDefault(path, (short) 0);
+    }
+
+    @Override
+    public short getShortOrDefault(@NotNull String path, short def) {
+        Object obj = get(path);
+        return (obj instanceof Number)? ((Number) obj).shortValue() : def;
     }
 
     @Override
@@ -177,108 +547,322 @@ public class AtumConfig implements Config {
 
     @Override
     public @Nullable List<Short> getShortListOrNull(@NotNull String path) {
-        List<Number> list = getList(path, Number.class);
-        if(list == null){
-            return null;
-        }
-        return list.stream().map(Number::shortValue).collect(Collectors.toList());
+        return getListView(path, Short.class, raw -> {
+            List<?> list = asNumericList(raw);
+            if(list == null){
+                return null;
+            }
+            List<Short> result = new ArrayList<>(list.size());
+            for (Object elem : list) {
+                result.add(((Number) elem).shortValue());
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public int getInt(@NotNull String path) {
+        return getIntOrDefault(ConfigPath.of(path), 0);
+    }
+
+    @Override
+    public int getIntOrDefault(@NotNull String path, int def) {
+        return getIntOrDefault(ConfigPath.of(path), def);
     }
 
     @Override
     public @Nullable Integer getIntOrNull(@NotNull String path) {
+        return getIntOrNull(ConfigPath.of(path));
+    }
+
+    @Override
+    public int getInt(@NotNull ConfigPath path) {
+        return getIntOrDefault(path, 0);
+    }
+
+    @Override
+    public int getIntOrDefault(@NotNull ConfigPath path, int def) {
+        Object obj = get(path);
+        return (obj instanceof Number)? ((Number) obj).intValue() : def;
+    }
+
+    @Override
+    public @Nullable Integer getIntOrNull(@NotNull ConfigPath path) {
         Object obj = get(path);
         return (obj instanceof Number)? ((Number) obj).intValue() : null;
     }
 
     @Override
     public @Nullable List<Integer> getIntListOrNull(@NotNull String path) {
-        List<Number> list = getList(path, Number.class);
+        return getListView(path, Integer.class, raw -> {
+            List<?> list = asNumericList(raw);
+            if(list == null){
+                return null;
+            }
+            List<Integer> result = new ArrayList<>(list.size());
+            for (Object elem : list) {
+                result.add(((Number) elem).intValue());
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public @Nullable int[] getIntArrayOrNull(@NotNull String path) {
+        List<?> list = asNumericList(get(path));
         if(list == null){
             return null;
         }
-        return list.stream().map(Number::intValue).collect(Collectors.toList());
+        int[] result = new int[list.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ((Number) list.get(i)).intValue();
+        }
+        return result;
+    }
+
+    @Override
+    public long getLong(@NotNull String path) {
+        return getLongOrDefault(ConfigPath.of(path), 0L);
+    }
+
+    @Override
+    public long getLongOrDefault(@NotNull String path, long def) {
+        return getLongOrDefault(ConfigPath.of(path), def);
     }
 
     @Override
     public @Nullable Long getLongOrNull(@NotNull String path) {
+        return getLongOrNull(ConfigPath.of(path));
+    }
+
+    @Override
+    public long getLong(@NotNull ConfigPath path) {
+        return getLongOrDefault(path, 0L);
+    }
+
+    @Override
+    public long getLongOrDefault(@NotNull ConfigPath path, long def) {
+        Object obj = get(path);
+        return (obj instanceof Number)? ((Number) obj).longValue() : def;
+    }
+
+    @Override
+    public @Nullable Long getLongOrNull(@NotNull ConfigPath path) {
         Object obj = get(path);
         return (obj instanceof Number)? ((Number) obj).longValue() : null;
     }
 
     @Override
     public @Nullable List<Long> getLongListOrNull(@NotNull String path) {
-        List<Number> list = getList(path, Number.class);
+        return getListView(path, Long.class, raw -> {
+            List<?> list = asNumericList(raw);
+            if(list == null){
+                return null;
+            }
+            List<Long> result = new ArrayList<>(list.size());
+            for (Object elem : list) {
+                result.add(((Number) elem).longValue());
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public @Nullable long[] getLongArrayOrNull(@NotNull String path) {
+        List<?> list = asNumericList(get(path));
         if(list == null){
             return null;
         }
-        return list.stream().map(Number::longValue).collect(Collectors.toList());
+        long[] result = new long[list.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ((Number) list.get(i)).longValue();
+        }
+        return result;
+    }
+
+    @Override
+    public float getFloat(@NotNull String path) {
+        return getFloatOrDefault(ConfigPath.of(path), 0.0f);
+    }
+
+    @Override
+    public float getFloatOrDefault(@NotNull String path, float def) {
+        return getFloatOrDefault(ConfigPath.of(path), def);
     }
 
     @Override
     public @Nullable Float getFloatOrNull(@NotNull String path) {
+        return getFloatOrNull(ConfigPath.of(path));
+    }
+
+    @Override
+    public float getFloat(@NotNull ConfigPath path) {
+        return getFloatOrDefault(path, 0.0f);
+    }
+
+    @Override
+    public float getFloatOrDefault(@NotNull ConfigPath path, float def) {
+        Object obj = get(path);
+        return (obj instanceof Number)? ((Number) obj).floatValue() : def;
+    }
+
+    @Override
+    public @Nullable Float getFloatOrNull(@NotNull ConfigPath path) {
         Object obj = get(path);
         return (obj instanceof Number)? ((Number) obj).floatValue() : null;
     }
 
     @Override
     public @Nullable List<Float> getFloatListOrNull(@NotNull String path) {
-        List<Number> list = getList(path, Number.class);
-        if(list == null){
-            return null;
-        }
-        return list.stream().map(Number::floatValue).collect(Collectors.toList());
+        return getListView(path, Float.class, raw -> {
+            List<?> list = asNumericList(raw);
+            if(list == null){
+                return null;
+            }
+            List<Float> result = new ArrayList<>(list.size());
+            for (Object elem : list) {
+                result.add(((Number) elem).floatValue());
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public double getDouble(@NotNull String path) {
+        return getDoubleOrDefault(ConfigPath.of(path), 0.0);
+    }
+
+    @Override
+    public double getDoubleOrDefault(@NotNull String path, double def) {
+        return getDoubleOrDefault(ConfigPath.of(path), def);
     }
 
     @Override
     public @Nullable Double getDoubleOrNull(@NotNull String path) {
+        return getDoubleOrNull(ConfigPath.of(path));
+    }
+
+    @Override
+    public double getDouble(@NotNull ConfigPath path) {
+        return getDoubleOrDefault(path, 0.0);
+    }
+
+    @Override
+    public double getDoubleOrDefault(@NotNull ConfigPath path, double def) {
+        Object obj = get(path);
+        return (obj instanceof Number)? ((Number) obj).doubleValue() : def;
+    }
+
+    @Override
+    public @Nullable Double getDoubleOrNull(@NotNull ConfigPath path) {
         Object obj = get(path);
         return (obj instanceof Number)? ((Number) obj).doubleValue() : null;
     }
 
     @Override
     public @Nullable List<Double> getDoubleListOrNull(@NotNull String path) {
-        List<Number> list = getList(path, Number.class);
+        return getListView(path, Double.class, raw -> {
+            List<?> list = asNumericList(raw);
+            if(list == null){
+                return null;
+            }
+            List<Double> result = new ArrayList<>(list.size());
+            for (Object elem : list) {
+                result.add(((Number) elem).doubleValue());
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public @Nullable double[] getDoubleArrayOrNull(@NotNull String path) {
+        List<?> list = asNumericList(get(path));
         if(list == null){
             return null;
         }
-        return list.stream().map(Number::doubleValue).collect(Collectors.toList());
+        double[] result = new double[list.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ((Number) list.get(i)).doubleValue();
+        }
+        return result;
+    }
+
+    @Override
+    public boolean getBool(@NotNull String path) {
+        return getBoolOrDefault(ConfigPath.of(path), false);
+    }
+
+    @Override
+    public boolean getBoolOrDefault(@NotNull String path, boolean def) {
+        return getBoolOrDefault(ConfigPath.of(path), def);
     }
 
     @Override
     public @Nullable Boolean getBoolOrNull(@NotNull String path) {
+        return getBoolOrNull(ConfigPath.of(path));
+    }
+
+    @Override
+    public boolean getBool(@NotNull ConfigPath path) {
+        return getBoolOrDefault(path, false);
+    }
+
+    @Override
+    public boolean getBoolOrDefault(@NotNull ConfigPath path, boolean def) {
+        Object obj = get(path);
+        return (obj instanceof Boolean)? (Boolean) obj : def;
+    }
+
+    @Override
+    public @Nullable Boolean getBoolOrNull(@NotNull ConfigPath path) {
         Object obj = get(path);
         return (obj instanceof Boolean)? (Boolean) obj : null;
     }
 
     @Override
     public @Nullable List<Boolean> getBoolListOrNull(@NotNull String path) {
-        return getList(path, Boolean.class);
+        return getListView(path, Boolean.class, raw -> castList(raw, Boolean.class));
     }
 
     @Override
     public @Nullable String getStringOrNull(@NotNull String path) {
+        return getStringOrNull(ConfigPath.of(path));
+    }
+
+    @Override
+    public @Nullable String getStringOrNull(@NotNull ConfigPath path) {
         Object obj = get(path);
         return obj != null ? obj.toString() : null;
     }
 
     @Override
     public @Nullable List<String> getStringListOrNull(@NotNull String path) {
-        List<Object> list = getList(path, Object.class);
-        if(list == null){
-            return null;
-        }
-        return list.stream().map(Object::toString).collect(Collectors.toList());
+        return getListView(path, String.class, raw -> {
+            List<String> result = new ArrayList<>();
+            for (Object elem : raw) {
+                if (elem == null) {
+                    return null;
+                }
+                result.add(elem.toString());
+            }
+            return result;
+        });
     }
 
     @Override
     public @Nullable Config getSubsectionOrNull(@NotNull String path) {
+        return getSubsectionOrNull(ConfigPath.of(path));
+    }
+
+    @Override
+    public @Nullable Config getSubsectionOrNull(@NotNull ConfigPath path) {
         Object obj = get(path);
         return (obj instanceof Config)? (Config) obj : null;
     }
 
     @Override
     public @Nullable List<? extends Config> getSubsectionListOrNull(@NotNull String path) {
-        return getList(path, Config.class);
+        return getListView(path, Config.class, raw -> castList(raw, Config.class));
     }
 
     @Override
@@ -293,21 +877,49 @@ public class AtumConfig implements Config {
         return map;
     }
 
+    /**
+     * Returns the compiled template of the value at the path,
+     * reusing the template of a previous call while the stored value stays the same.
+     * At most {@link #TEMPLATE_CACHE_SIZE} paths are cached.
+     */
+    @Override
+    public @Nullable CompiledTemplate getTemplateOrNull(@NotNull String path) {
+        Object obj = get(path);
+        if (obj == null) {
+            return null;
+        }
+        TemplateView view = templates.get(path);
+        if (view != null && view.source == obj) {
+            return view.template;
+        }
+        String text = obj.toString();
+        CompiledTemplate template = CompiledTemplate.compile(
+                getConfigOwner().supportsColorCodes() ? StringUtils.formatColorCodes(text) : text
+        );
+        if (view == null && templates.size() >= TEMPLATE_CACHE_SIZE) {
+            templates.clear();
+        }
+        templates.put(path, new TemplateView(obj, template));
+        return template;
+    }
+
     @Override
     public double getEvaluated(@NotNull String path, @NotNull PlaceholderContext context) {
         String text = getStringOrNull(path);
         if(text == null){
             return 0.0;
         }
-        return Crunch.compileExpression(
-                getConfigOwner().getPlaceholderHandler()
-                        .orElse(PlaceholderHandler.EMPTY)
-                        .translatePlaceholders(
+        String expression = getConfigOwner().getPlaceholderHandler()
+                .orElse(PlaceholderHandler.EMPTY)
+                .translatePlaceholders(
                         text,
                         context
-                ),
-                ((AtumConfigManager)getConfigOwner()).getEvaluationEnvironment()
-        ).evaluate();
+                );
+        if(!(getConfigOwner() instanceof AtumConfigManager)){
+            // other managers have no evaluation environment nor expression cache
+            return Crunch.compileExpression(expression).evaluate();
+        }
+        return ((AtumConfigManager)getConfigOwner()).compileExpression(expression).evaluate();
     }
 
 
@@ -316,8 +928,10 @@ public class AtumConfig implements Config {
         if (!(obj instanceof Iterable<?>)) {
             return null;
         }
-        Iterable<?> iterable = (Iterable<?>)obj;
+        return castList((Iterable<?>) obj, type);
+    }
 
+    private static <T> @Nullable List<T> castList(@NotNull Iterable<?> iterable, @NotNull Class<T> type) {
         List<T> result = new ArrayList<>();
         for (Object elem : iterable) {
             if (!type.isInstance(elem)) {
@@ -328,6 +942,104 @@ public class AtumConfig implements Config {
         return result;
     }
 
+    /**
+     * Returns an unmodifiable list converted from the list stored at the given path,
+     * reusing the result of a previous call while the stored list stays the same.
+     * <p>
+     * Stored lists are never modified in place, so a changed value at the path
+     * (or a replaced ancestor section) always means a different list instance.
+     * At most {@link #LIST_VIEW_CACHE_SIZE} paths are cached per element type.
+     *
+     * @param path      dot-delimited key path
+     * @param type      element type of the result, used as part of the cache key
+     * @param converter converts the stored list, returning null if it does not match
+     * @return the cached view or null if the path holds no matching list
+     */
+    @SuppressWarnings("unchecked")
+    private <T> @Nullable List<T> getListView(@NotNull String path,
+                                              @NotNull Class<T> type,
+                                              @NotNull Function<Iterable<?>, List<T>> converter) {
+        Object obj = get(path);
+        if (!(obj instanceof Iterable<?>)) {
+            return null;
+        }
+        Map<String, ListView> views = listViews.get(type);
+        if (views == null) {
+            views = listViews.computeIfAbsent(type, k -> new ConcurrentHashMap<>());
+        }
+        ListView view = views.get(path);
+        if (view != null && view.source == obj) {
+            return (List<T>) view.list;
+        }
+        List<T> list = converter.apply((Iterable<?>) obj);
+        if (list != null) {
+            list = Collections.unmodifiableList(list);
+        }
+        if (view == null && views.size() >= LIST_VIEW_CACHE_SIZE) {
+            views.clear();
+        }
+        views.put(path, new ListView(obj, list));
+        return list;
+    }
+
+    private boolean hasCachedViews() {
+        if (!templates.isEmpty()) {
+            return true;
+        }
+        for (Map<String, ListView> views : listViews.values()) {
+            if (!views.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drops the list views and templates of the changed path, of its subpaths
+     * and of the paths of its sections, which the change replaces.
+     *
+     * @param changed dot-delimited path set through this config
+     */
+    private void dropCachedViews(@NotNull String changed) {
+        if (!templates.isEmpty()) {
+            templates.keySet().removeIf(cached -> overlaps(cached, changed));
+        }
+        for (Map<String, ListView> views : listViews.values()) {
+            if (!views.isEmpty()) {
+                views.keySet().removeIf(cached -> overlaps(cached, changed));
+            }
+        }
+    }
+
+    /**
+     * Returns whether the paths are equal or one of them is contained in the other.
+     */
+    private static boolean overlaps(@NotNull String first, @NotNull String second) {
+        if (first.length() == second.length()) {
+            return first.equals(second);
+        }
+        String shorter = first.length() < second.length() ? first : second;
+        String longer = shorter == first ? second : first;
+        return longer.startsWith(shorter) && longer.charAt(shorter.length()) == ConfigPath.SEPARATOR;
+    }
+
+    /**
+     * Returns the given value as a list if all of its elements are numbers.
+     * The list is returned as is, without copying.
+     */
+    private static @Nullable List<?> asNumericList(@Nullable Object obj) {
+        if (!(obj instanceof List<?>)) {
+            return null;
+        }
+        List<?> list = (List<?>) obj;
+        for (int i = 0; i < list.size(); i++) {
+            if (!(list.get(i) instanceof Number)) {
+                return null;
+            }
+        }
+        return list;
+    }
+
     @Override
     public void addPlaceholder(@NotNull Iterable<Placeholder> placeholders, boolean deep) {
         for (Placeholder placeholder : placeholders) {
@@ -339,6 +1051,7 @@ public class AtumConfig implements Config {
             }
             injectedPlaceholders.add(placeholder);
         }
+        placeholderVersion.incrementAndGet();
 
         if(deep){
             for (Object object : values.values()) {
@@ -357,6 +1070,7 @@ public class AtumConfig implements Config {
             }
             injectedPlaceholders.remove(placeholder);
         }
+        placeholderVersion.incrementAndGet();
         if(deep){
             for (Object object : values.values()) {
                 if (object instanceof Config) {
@@ -369,6 +1083,7 @@ public class AtumConfig implements Config {
     @Override
     public void clearPlaceholders(boolean deep) {
         injectedPlaceholders.clear();
+        placeholderVersion.incrementAndGet();
         if(deep) {
             for (Object object : values.values()) {
                 if (object instanceof Config) {
@@ -382,6 +1097,11 @@ public class AtumConfig implements Config {
         return injectedPlaceholders;
     }
 
+    @Override
+    public long getPlaceholderVersion() {
+        return placeholderVersion.get();
+    }
+
     @Override
     public @NotNull ConfigType getType() {
         return configType;
@@ -392,4 +1112,46 @@ public class AtumConfig implements Config {
         return values;
     }
 
+    private static final class ListView {
+        private final Object source;
+        private final List<?> list;
+
+        private ListView(@NotNull Object source, @Nullable List<?> list) {
+            this.source = source;
+            this.list = list;
+        }
+    }
+
+    private static final class ParsedView {
+        private final ConfigParser<?> parser;
+        private final long stamp;
+        private final Object value;
+
+        private ParsedView(@NotNull ConfigParser<?> parser, long stamp, @Nullable Object value) {
+            this.parser = parser;
+            this.stamp = stamp;
+            this.value = value;
+        }
+    }
+
+    private static final class TemplateView {
+        private final Object source;
+        private final CompiledTemplate template;
+
+        private TemplateView(@NotNull Object source, @NotNull CompiledTemplate template) {
+            this.source = source;
+            this.template = template;
+        }
+    }
+
+    private static final class PathIndex {
+        private final long stamp;
+        private final Map<String, Object> entries;
+
+        private PathIndex(long stamp, @NotNull Map<String, Object> entries) {
+            this.stamp = stamp;
+            this.entries = entries;
+        }
+    }
+
 }
@@ -1,24 +1,28 @@
 package me.phoenixra.atumconfig.core.config;
 
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 import me.phoenixra.atumconfig.api.ConfigManager;
 import me.phoenixra.atumconfig.api.config.ConfigFile;
 import me.phoenixra.atumconfig.api.config.ConfigType;
+import me.phoenixra.atumconfig.api.config.catalog.CatalogCallbackOrder;
 import me.phoenixra.atumconfig.api.config.catalog.ConfigCatalog;
 import me.phoenixra.atumconfig.api.config.catalog.ConfigCatalogListener;
 import me.phoenixra.atumconfig.api.utils.FileUtils;
+import me.phoenixra.atumconfig.core.AtumConfigManager;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
-import java.util.Map;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Stream;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
 
 
 @Getter
@@ -32,6 +36,16 @@ public class AtumConfigCatalog implements ConfigCatalog {
 
     protected Map<String, ConfigFile> configFilesMap = new ConcurrentHashMap<>();
 
+    @Setter
+    private volatile boolean contentHashing;
+
+    /**
+     * Fingerprints of the files seen by the last reload, by config id.
+     * Failed files are kept too, so they are retried only once they change.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Fingerprint> fingerprints = new ConcurrentHashMap<>();
+
 
     public AtumConfigCatalog(@NotNull ConfigManager configManager,
                              @NotNull ConfigType type,
@@ -50,10 +64,55 @@ public class AtumConfigCatalog implements ConfigCatalog {
 
     @Override
     public void reload() {
+        reloadWith(null, CatalogCallbackOrder.COMPLETION);
+    }
+
+    @Override
+    public void reload(@NotNull Executor executor, @NotNull CatalogCallbackOrder order) {
+        reloadWith(executor, order);
+    }
+
+    @Override
+    public void reload(int parallelism, @NotNull CatalogCallbackOrder order) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1, got " + parallelism);
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "AtumConfig-catalog-" + id + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            reload(pool, order);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
 
+    /**
+     * Reloads the catalog, parsing files on the executor if there is one,
+     * or one after another on the calling thread otherwise.
+     */
+    private synchronized void reloadWith(@Nullable Executor executor, @NotNull CatalogCallbackOrder order) {
+        ConfigSnapshotStore snapshots = snapshotStore();
+        if (snapshots == null) {
+            reloadFiles(executor, order);
+            return;
+        }
+        snapshots.beginBatch();
+        try {
+            reloadFiles(executor, order);
+        } finally {
+            snapshots.endBatch();
+        }
+    }
+
+    private void reloadFiles(@Nullable Executor executor, @NotNull CatalogCallbackOrder order) {
         listener.beforeReload(this);
         listener.onClear(this);
         configFilesMap.clear();
+        fingerprints.clear();
 
         Path baseDir = configManager.getDirectory().resolve(relativeDirectory);
         configManager.getLogger().logInfo("Reloading catalog '" + id + "' from " + baseDir);
@@ -63,40 +122,97 @@ public class AtumConfigCatalog implements ConfigCatalog {
             loadDefaults();
         }
 
-        try (Stream<Path> stream = nestedDirectories ? Files.walk(baseDir) : Files.list(baseDir)) {
-            stream.filter(Files::isRegularFile)
-                    .filter(path -> path.getFileName().toString().endsWith(type.getFileExtension()))
-                    .forEach(path -> {
-                        // Compute relative path without extension
-                        Path relParent = baseDir.relativize(path.getParent());
-                        String filename = path.getFileName().toString();
-                        int dot = filename.lastIndexOf('.');
-                        String nameNoExt = dot == -1 ? filename : filename.substring(0, dot);
-
-                        // Build ID (relative/path/filename)
-                        Path idPath = relParent.resolve(nameNoExt);
-                        String configId = idPath.toString().replace(File.separatorChar, '/');
-
-                        // Path to the file including extension
-                        Path relativeFile = relativeDirectory.resolve(relParent).resolve(path.getFileName());
-
-                        try {
-                            ConfigFile conf = new AtumConfigFile(
-                                    configManager,
-                                    type,
-                                    configId,
-                                    relativeFile,
-                                    false
-                            );
-                            configFilesMap.put(configId, conf);
-                            listener.onConfigLoaded(this, conf);
-                        } catch (Throwable e) {
-                            configManager.getLogger().logError(
-                                    "Failed to load config '" + filename + "' in catalog '" + id + "'", e
-                            );
-                            listener.onConfigFailed(this, relativeFile, e);
+        try {
+            List<Entry> entries = scan(baseDir);
+            if (executor == null) {
+                for (Entry entry : entries) {
+                    deliver(load(entry));
+                }
+            } else {
+                loadConcurrently(entries, executor, order);
+            }
+        } catch (IOException e) {
+            configManager.getLogger().logError("Failed scanning catalog directory: " + baseDir, e);
+        } finally {
+            listener.afterReload(this);
+        }
+    }
+
+    @Override
+    public synchronized void reloadIncremental() {
+        Path baseDir = configManager.getDirectory().resolve(relativeDirectory);
+        if (Files.notExists(baseDir)) {
+            reload();
+            return;
+        }
+        ConfigSnapshotStore snapshots = snapshotStore();
+        if (snapshots == null) {
+            reloadChanged(baseDir);
+            return;
+        }
+        snapshots.beginBatch();
+        try {
+            reloadChanged(baseDir);
+        } finally {
+            snapshots.endBatch();
+        }
+    }
+
+    private void reloadChanged(@NotNull Path baseDir) {
+        listener.beforeReload(this);
+        try {
+            List<Entry> entries = scan(baseDir);
+            Set<String> present = new HashSet<>();
+            for (Entry entry : entries) {
+                present.add(entry.configId);
+                Fingerprint current;
+                try {
+                    current = Fingerprint.read(
+                            configManager.getDirectory().resolve(entry.relativeFile), entry.attributes, contentHashing
+                    );
+                } catch (IOException e) {
+                    // deleted between the scan and now
+                    present.remove(entry.configId);
+                    continue;
+                }
+                Fingerprint previous = fingerprints.get(entry.configId);
+                if (previous != null && previous.matches(current)) {
+                    continue;
+                }
+
+                ConfigFile existing = configFilesMap.get(entry.configId);
+                if (existing == null) {
+                    deliver(load(entry));
+                    continue;
+                }
+                fingerprints.put(entry.configId, current);
+                try {
+                    if (existing instanceof AtumConfigFile) {
+                        if (!((AtumConfigFile) existing).reloadChanged()) {
+                            continue;
                         }
-                    });
+                    } else {
+                        existing.reload();
+                    }
+                    listener.onConfigChanged(this, existing);
+                } catch (Throwable e) {
+                    // the previously loaded values are kept
+                    configManager.getLogger().logError(
+                            "Failed to reload config '" + entry.filename + "' in catalog '" + id + "'", e
+                    );
+                    listener.onConfigFailed(this, entry.relativeFile, e);
+                }
+            }
+
+            Iterator<Map.Entry<String, ConfigFile>> iterator = configFilesMap.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, ConfigFile> loaded = iterator.next();
+                if (!present.contains(loaded.getKey())) {
+                    iterator.remove();
+                    listener.onConfigRemoved(this, loaded.getValue());
+                }
+            }
+            fingerprints.keySet().retainAll(present);
         } catch (IOException e) {
             configManager.getLogger().logError("Failed scanning catalog directory: " + baseDir, e);
         } finally {
@@ -104,6 +220,133 @@ public class AtumConfigCatalog implements ConfigCatalog {
         }
     }
 
+    private @Nullable ConfigSnapshotStore snapshotStore() {
+        return configManager instanceof AtumConfigManager
+                ? ((AtumConfigManager) configManager).getSnapshotStore()
+                : null;
+    }
+
+    /**
+     * Lists the config files of the catalog, with their attributes read by the walk
+     * so they do not have to be read a second time for the fingerprints.
+     */
+    private @NotNull List<Entry> scan(@NotNull Path baseDir) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        int depth = nestedDirectories ? Integer.MAX_VALUE : 1;
+        Files.walkFileTree(baseDir, EnumSet.noneOf(FileVisitOption.class), depth, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path path, BasicFileAttributes attributes) throws IOException {
+                if (attributes.isSymbolicLink()) {
+                    // linked config files are included, linked directories are not walked
+                    attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                }
+                String filename = path.getFileName().toString();
+                int dot = filename.lastIndexOf('.');
+                // files of the catalog type, including the ones of formats registered for it
+                if (!attributes.isRegularFile() || dot == -1
+                        || ConfigType.fromExtension(filename.substring(dot + 1), configManager) != type) {
+                    return FileVisitResult.CONTINUE;
+                }
+                // Compute relative path without extension
+                Path relParent = baseDir.relativize(path.getParent());
+                String nameNoExt = filename.substring(0, dot);
+
+                // Build ID (relative/path/filename)
+                Path idPath = relParent.resolve(nameNoExt);
+                String configId = idPath.toString().replace(File.separatorChar, '/');
+
+                // Path to the file including extension
+                Path relativeFile = relativeDirectory.resolve(relParent).resolve(path.getFileName());
+                entries.add(new Entry(configId, filename, relativeFile, attributes));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path path, IOException e) throws IOException {
+                if (path.equals(baseDir)) {
+                    throw e;
+                }
+                // deleted while walking
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return entries;
+    }
+
+    private void loadConcurrently(@NotNull List<Entry> entries,
+                                  @NotNull Executor executor,
+                                  @NotNull CatalogCallbackOrder order) {
+        List<Future<Result>> futures = new ArrayList<>(entries.size());
+        try {
+            if (order == CatalogCallbackOrder.SORTED) {
+                entries.sort(Comparator.comparing(entry -> entry.configId));
+                for (Entry entry : entries) {
+                    FutureTask<Result> task = new FutureTask<>(() -> load(entry));
+                    futures.add(task);
+                    executor.execute(task);
+                }
+                for (Future<Result> future : futures) {
+                    deliver(future.get());
+                }
+            } else {
+                CompletionService<Result> completion = new ExecutorCompletionService<>(executor);
+                for (Entry entry : entries) {
+                    futures.add(completion.submit(() -> load(entry)));
+                }
+                for (int i = 0; i < entries.size(); i++) {
+                    deliver(completion.take().get());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            configManager.getLogger().logError("Interrupted while reloading catalog '" + id + "'", e);
+        } catch (ExecutionException e) {
+            // load() catches everything itself
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Parses a single file. Safe to call from any thread.
+     */
+    private @NotNull Result load(@NotNull Entry entry) {
+        Fingerprint fingerprint = null;
+        try {
+            // taken before parsing, so a write during the parse is seen as a change next time
+            fingerprint = Fingerprint.read(
+                    configManager.getDirectory().resolve(entry.relativeFile), entry.attributes, contentHashing
+            );
+            return new Result(entry, fingerprint, new AtumConfigFile(
+                    configManager,
+                    type,
+                    entry.configId,
+                    entry.relativeFile,
+                    false
+            ), null);
+        } catch (Throwable e) {
+            return new Result(entry, fingerprint, null, e);
+        }
+    }
+
+    /**
+     * Registers a parsed file and notifies the listener. Called on the reloading thread.
+     */
+    private void deliver(@NotNull Result result) {
+        if (result.fingerprint != null) {
+            fingerprints.put(result.entry.configId, result.fingerprint);
+        }
+        if (result.config != null) {
+            configFilesMap.put(result.entry.configId, result.config);
+            listener.onConfigLoaded(this, result.config);
+        } else {
+            configManager.getLogger().logError(
+                    "Failed to load config '" + result.entry.filename + "' in catalog '" + id + "'", result.error
+            );
+            listener.onConfigFailed(this, result.entry.relativeFile, result.error);
+        }
+    }
+
     private void loadDefaults() {
         listener.beforeLoadDefaults(this);
         Path root = configManager.getDirectory();
@@ -149,4 +392,83 @@ public class AtumConfigCatalog implements ConfigCatalog {
         return Optional.ofNullable(configFilesMap.get(id));
     }
 
+    private static final class Entry {
+        private final String configId;
+        private final String filename;
+        private final Path relativeFile;
+        private final BasicFileAttributes attributes;
+
+        private Entry(@NotNull String configId,
+                      @NotNull String filename,
+                      @NotNull Path relativeFile,
+                      @NotNull BasicFileAttributes attributes) {
+            this.configId = configId;
+            this.filename = filename;
+            this.relativeFile = relativeFile;
+            this.attributes = attributes;
+        }
+    }
+
+    private static final class Result {
+        private final Entry entry;
+        private final Fingerprint fingerprint;
+        private final ConfigFile config;
+        private final Throwable error;
+
+        private Result(@NotNull Entry entry,
+                       @Nullable Fingerprint fingerprint,
+                       @Nullable ConfigFile config,
+                       @Nullable Throwable error) {
+            this.entry = entry;
+            this.fingerprint = fingerprint;
+            this.config = config;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Last-modified time, size and optionally a CRC32 of a file's content.
+     */
+    private static final class Fingerprint {
+        private static final long NO_HASH = -1L;
+
+        private final long lastModified;
+        private final long size;
+        private final long hash;
+
+        private Fingerprint(long lastModified, long size, long hash) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.hash = hash;
+        }
+
+        private static @NotNull Fingerprint read(@NotNull Path file,
+                                                 @NotNull BasicFileAttributes attributes,
+                                                 boolean hashContent) throws IOException {
+            long hash = NO_HASH;
+            if (hashContent) {
+                CRC32 crc = new CRC32();
+                byte[] buffer = new byte[8192];
+                try (InputStream in = Files.newInputStream(file)) {
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        crc.update(buffer, 0, read);
+                    }
+                }
+                hash = crc.getValue();
+            }
+            return new Fingerprint(attributes.lastModifiedTime().toMillis(), attributes.size(), hash);
+        }
+
+        private boolean matches(@NotNull Fingerprint other) {
+            if (size != other.size) {
+                return false;
+            }
+            if (hash != NO_HASH && other.hash != NO_HASH) {
+                return hash == other.hash;
+            }
+            return lastModified == other.lastModified;
+        }
+    }
+
 }
@@ -4,17 +4,19 @@ import lombok.Getter;
 import me.phoenixra.atumconfig.api.ConfigManager;
 import me.phoenixra.atumconfig.api.config.ConfigFile;
 import me.phoenixra.atumconfig.api.config.ConfigType;
+import me.phoenixra.atumconfig.api.utils.FileUtils;
+import me.phoenixra.atumconfig.core.AtumConfigManager;
 import me.phoenixra.atumconfig.core.config.typehandlers.ConfigTypeHandler;
 import org.jetbrains.annotations.NotNull;
 
-import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
+import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
-import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -25,10 +27,30 @@ public class AtumConfigFile extends AtumConfig implements ConfigFile {
     @Getter
     private Path relativeFilePath;
     private Path absolutePath;
+    /**
+     * Extension of the file name, which selects a
+     * {@link ConfigManager#addConfigFormat(String, me.phoenixra.atumconfig.api.config.ConfigFormat) registered format}
+     */
+    private final String fileExtension;
 
     @Getter
     protected File file;
 
+    @Getter
+    private volatile boolean writeBehind;
+
+    /**
+     * Modification count of the values last loaded from or written to disk
+     */
+    private volatile long savedModCount = -1;
+
+    /**
+     * SHA-256 of the content last loaded from or written to disk
+     */
+    private volatile byte[] savedHash;
+
+    private final Object saveLock = new Object();
+
 
     public AtumConfigFile(@NotNull ConfigManager configOwner,
                           @NotNull ConfigType type,
@@ -40,15 +62,17 @@ public class AtumConfigFile extends AtumConfig implements ConfigFile {
         this.id = id;
         this.relativeFilePath = relativePath;
         this.absolutePath = configOwner.getDirectory().resolve(relativePath).normalize();
-
-        // Ensure parent directories exist
-        Path parent = absolutePath.getParent();
-        if (parent != null) {
-            Files.createDirectories(parent);
-        }
+        String fileName = absolutePath.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        this.fileExtension = dot == -1 ? "" : fileName.substring(dot + 1);
 
         file = absolutePath.toFile();
         if (!file.exists()) {
+            // Ensure parent directories exist
+            Path parent = absolutePath.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
             createFile(forceLoadResource);
         }
         reload();
@@ -75,22 +99,163 @@ public class AtumConfigFile extends AtumConfig implements ConfigFile {
         }
     }
 
+    /**
+     * Parses the file, or decodes its binary snapshot instead
+     * if the manager keeps {@link AtumConfigManager#getSnapshotStore() snapshots}
+     * and the snapshot was made of the current file.
+     * Files of binary types are always decoded directly.
+     */
     @Override
     public void reload() throws IOException {
-        byte[] bytes = Files.readAllBytes(absolutePath);
-        String raw = new String(bytes, StandardCharsets.UTF_8);
-        Map<String, Object> data = ConfigTypeHandler.toMap(getConfigOwner(), getType(), raw);
-        super.applyData(data);
+        ConfigSnapshotStore snapshots = getConfigOwner() instanceof AtumConfigManager
+                && !typeHandler().isBinary()
+                ? ((AtumConfigManager) getConfigOwner()).getSnapshotStore()
+                : null;
+        if (snapshots == null) {
+            byte[] content = Files.readAllBytes(absolutePath);
+            apply(parse(content), sha256(content));
+            return;
+        }
+
+        // taken before reading, so a write during the read is seen as a change next time
+        BasicFileAttributes attributes = Files.readAttributes(absolutePath, BasicFileAttributes.class);
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        ConfigSnapshotStore.Loaded loaded = snapshots.read(relativeFilePath, getType(), size, lastModified);
+        if (loaded != null) {
+            apply(loaded.data, loaded.hash);
+            return;
+        }
+
+        byte[] content = Files.readAllBytes(absolutePath);
+        byte[] hash = sha256(content);
+        Map<String, Object> data = parse(content);
+        snapshots.write(relativeFilePath, getType(), size, lastModified, hash, data);
+        apply(data, hash);
+    }
+
+    /**
+     * Reloads the file after a change on disk, unless reloading would lose data
+     * or does not change anything:
+     * <ul>
+     *     <li>content equal to what was last loaded or written, such as the file
+     *     moved into place by {@link #save()}, is not parsed again;</li>
+     *     <li>values changed since they were last loaded or written, including changes
+     *     waiting for a write-behind write, are kept and the change on disk is logged.</li>
+     * </ul>
+     * Used for watched files and incremental catalog reloads,
+     * while {@link #reload()} always replaces the values.
+     *
+     * @return true if the values were replaced by the content of the file
+     * @throws IOException if the file cannot be read
+     */
+    public boolean reloadChanged() throws IOException {
+        synchronized (saveLock) {
+            byte[] content = Files.readAllBytes(absolutePath);
+            byte[] hash = sha256(content);
+            if (Arrays.equals(hash, savedHash)) {
+                return false;
+            }
+            if (isDirty()) {
+                getConfigOwner().getLogger().logWarn(
+                        "Config '" + id + "' changed on disk while it has unsaved changes, keeping the unsaved values"
+                );
+                return false;
+            }
+            apply(parse(content), hash);
+            return true;
+        }
+    }
+
+    private @NotNull Map<String, Object> parse(byte[] content) {
+        return typeHandler().load(getConfigOwner(), content);
+    }
+
+    private @NotNull ConfigTypeHandler typeHandler() {
+        return ConfigTypeHandler.of(getConfigOwner(), getType(), fileExtension);
+    }
+
+    private void apply(@NotNull Map<String, Object> data, byte[] hash) {
+        super.applyNormalizedData(data);
+        savedModCount = getModCount();
+        savedHash = hash;
+        if (getConfigOwner() instanceof AtumConfigManager) {
+            ((AtumConfigManager) getConfigOwner()).clearExpressionCache();
+        }
     }
 
+    /**
+     * Writes to a temporary file first and moves it over the file,
+     * so a concurrent {@link #reload()} never sees a partially written file.
+     * In write-behind mode only schedules the write.
+     * <p>
+     * Like {@link #flush()}, does nothing if the values did not change
+     * since they were last loaded or written, or if they serialize to
+     * the content already on disk.
+     */
     @Override
     public void save() throws IOException {
-        Files.write(
-                absolutePath,
-                toPlaintext().getBytes(StandardCharsets.UTF_8),
-                StandardOpenOption.CREATE,
-                StandardOpenOption.TRUNCATE_EXISTING
-        );
+        if (writeBehind && getConfigOwner() instanceof AtumConfigManager) {
+            ((AtumConfigManager) getConfigOwner()).scheduleWrite(this);
+            return;
+        }
+        flush();
+    }
+
+    /**
+     * Checks whether the values changed since they were last loaded or written.
+     *
+     * @return true if {@link #flush()} would serialize the values
+     */
+    public boolean isDirty() {
+        return getModCount() != savedModCount;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (isDirty()) {
+            write();
+        }
+    }
+
+    @Override
+    public void setWriteBehind(boolean writeBehind) {
+        this.writeBehind = writeBehind;
+    }
+
+    @Override
+    protected void onModified() {
+        if (writeBehind && getConfigOwner() instanceof AtumConfigManager) {
+            ((AtumConfigManager) getConfigOwner()).scheduleWrite(this);
+        }
+    }
+
+    private void write() throws IOException {
+        synchronized (saveLock) {
+            // changes made while serializing leave the file dirty
+            long modCount = getModCount();
+            ConfigTypeHandler handler = typeHandler();
+            byte[] content = handler.isBinary()
+                    ? handler.toBytes(values)
+                    : toPlaintext().getBytes(StandardCharsets.UTF_8);
+            byte[] hash = sha256(content);
+            if (!Arrays.equals(hash, savedHash) || !Files.exists(absolutePath)) {
+                boolean sync = getConfigOwner() instanceof AtumConfigManager
+                        && ((AtumConfigManager) getConfigOwner()).isSyncOnSave();
+                FileUtils.writeAtomically(absolutePath, content, sync);
+                savedHash = hash;
+            }
+            savedModCount = modCount;
+        }
+    }
+
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
     }
 
     @Override
@@ -102,7 +267,19 @@ public class AtumConfigFile extends AtumConfig implements ConfigFile {
 
     @Override
     public String toPlaintext() {
-        String text = super.toPlaintext();
+        ConfigTypeHandler handler = typeHandler();
+        String text = handler.toString(values);
+        if (handler.isBinary()) {
+            return text;
+        }
+        if (text.indexOf('#') == -1 && text.indexOf('\r') == -1) {
+            // no comments to strip: only normalize the trailing line breaks
+            int end = text.length();
+            while (end > 0 && text.charAt(end - 1) == '\n') {
+                end--;
+            }
+            return text.substring(0, end) + "\n";
+        }
         return Arrays.stream(text.split("\\r?\\n"))
                 .filter(line -> !line.trim().startsWith("#"))
                 .collect(Collectors.joining("\n"))
@@ -0,0 +1,230 @@
+package me.phoenixra.atumconfig.core.config;
+
+import me.phoenixra.atumconfig.api.ConfigManager;
+import me.phoenixra.atumconfig.api.config.ConfigType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Binary encoding of a parsed config tree, used by {@link ConfigSnapshotStore}.
+ * <p>
+ * Values are tagged, length-prefixed entries: sections, lists, strings,
+ * numbers and booleans. Trees containing other values cannot be encoded.
+ * Decoding builds the same sections and unmodifiable lists
+ * as the type handlers do when parsing.
+ */
+final class ConfigSnapshot {
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_SECTION = 1;
+    private static final byte TAG_LIST = 2;
+    private static final byte TAG_STRING = 3;
+    private static final byte TAG_TRUE = 4;
+    private static final byte TAG_FALSE = 5;
+    private static final byte TAG_INT = 6;
+    private static final byte TAG_LONG = 7;
+    private static final byte TAG_DOUBLE = 8;
+    private static final byte TAG_FLOAT = 9;
+    private static final byte TAG_BIG_INTEGER = 10;
+    private static final byte TAG_BIG_DECIMAL = 11;
+
+    private ConfigSnapshot() {
+        throw new UnsupportedOperationException("This is an utility class and cannot be instantiated");
+    }
+
+    /**
+     * Encodes the values of a config.
+     *
+     * @param data normalized values, as passed to {@link AtumConfig#applyNormalizedData(Map)}
+     * @return the encoded tree, or null if it contains values the format cannot represent
+     */
+    @Nullable
+    static byte[] encode(@NotNull Map<String, Object> data) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            if (!writeSection(out, data)) {
+                return null;
+            }
+            out.flush();
+        } catch (IOException e) {
+            // not thrown by in-memory streams
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a tree written by {@link #encode(Map)}.
+     *
+     * @param buffer buffer positioned at the tree
+     * @return the values ready for {@link AtumConfig#applyNormalizedData(Map)}
+     * @throws IllegalArgumentException         if the tree is corrupt
+     * @throws java.nio.BufferUnderflowException if the tree is truncated
+     */
+    static @NotNull Map<String, Object> decode(@NotNull ByteBuffer buffer,
+                                               @NotNull ConfigManager configOwner,
+                                               @NotNull ConfigType type) {
+        if (buffer.get() != TAG_SECTION) {
+            throw new IllegalArgumentException("Snapshot does not start with a section");
+        }
+        return new Decoder(buffer, configOwner, type).readEntries();
+    }
+
+    private static boolean writeSection(@NotNull DataOutputStream out,
+                                        @NotNull Map<String, Object> values) throws IOException {
+        out.writeByte(TAG_SECTION);
+        out.writeInt(values.size());
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            writeString(out, entry.getKey());
+            if (!writeValue(out, entry.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean writeValue(@NotNull DataOutputStream out, @Nullable Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof AtumConfig) {
+            return writeSection(out, ((AtumConfig) value).values);
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            out.writeByte(TAG_LIST);
+            out.writeInt(list.size());
+            for (Object element : list) {
+                if (!writeValue(out, element)) {
+                    return false;
+                }
+            }
+        } else if (value instanceof String) {
+            out.writeByte(TAG_STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte((Boolean) value ? TAG_TRUE : TAG_FALSE);
+        } else if (value instanceof Integer) {
+            out.writeByte(TAG_INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(TAG_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(TAG_FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof BigInteger) {
+            out.writeByte(TAG_BIG_INTEGER);
+            writeString(out, value.toString());
+        } else if (value instanceof BigDecimal) {
+            out.writeByte(TAG_BIG_DECIMAL);
+            writeString(out, value.toString());
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static void writeString(@NotNull DataOutputStream out, @NotNull String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static final class Decoder {
+        private final ByteBuffer buffer;
+        private final ConfigManager configOwner;
+        private final ConfigType type;
+        private byte[] scratch = new byte[64];
+
+        private Decoder(@NotNull ByteBuffer buffer, @NotNull ConfigManager configOwner, @NotNull ConfigType type) {
+            this.buffer = buffer;
+            this.configOwner = configOwner;
+            this.type = type;
+        }
+
+        /**
+         * Reads the entries of a section whose tag was already read.
+         */
+        private @NotNull Map<String, Object> readEntries() {
+            int size = readLength();
+            Map<String, Object> values = new LinkedHashMap<>(Math.max(4, (int) (size / 0.75f) + 1));
+            for (int i = 0; i < size; i++) {
+                String key = readString();
+                Object value = readValue();
+                if (value != null) {
+                    values.put(key, value);
+                }
+            }
+            return values;
+        }
+
+        private @Nullable Object readValue() {
+            byte tag = buffer.get();
+            switch (tag) {
+                case TAG_NULL:
+                    return null;
+                case TAG_SECTION:
+                    AtumConfigSection section = new AtumConfigSection(configOwner, type, null);
+                    section.applyNormalizedData(readEntries());
+                    return section;
+                case TAG_LIST:
+                    int size = readLength();
+                    List<Object> list = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        list.add(readValue());
+                    }
+                    return Collections.unmodifiableList(list);
+                case TAG_STRING:
+                    return readString();
+                case TAG_TRUE:
+                    return Boolean.TRUE;
+                case TAG_FALSE:
+                    return Boolean.FALSE;
+                case TAG_INT:
+                    return buffer.getInt();
+                case TAG_LONG:
+                    return buffer.getLong();
+                case TAG_DOUBLE:
+                    return buffer.getDouble();
+                case TAG_FLOAT:
+                    return buffer.getFloat();
+                case TAG_BIG_INTEGER:
+                    return new BigInteger(readString());
+                case TAG_BIG_DECIMAL:
+                    return new BigDecimal(readString());
+                default:
+                    throw new IllegalArgumentException("Unknown snapshot tag " + tag);
+            }
+        }
+
+        private @NotNull String readString() {
+            int length = readLength();
+            if (length > scratch.length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private int readLength() {
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                throw new IllegalArgumentException("Corrupt snapshot length " + length);
+            }
+            return length;
+        }
+    }
+}
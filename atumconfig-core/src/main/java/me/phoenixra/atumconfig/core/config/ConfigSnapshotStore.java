@@ -0,0 +1,316 @@
+package me.phoenixra.atumconfig.core.config;
+
+import me.phoenixra.atumconfig.api.ConfigManager;
+import me.phoenixra.atumconfig.api.config.ConfigType;
+import me.phoenixra.atumconfig.api.utils.FileUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Binary snapshots of parsed config files, kept in a single file
+ * so that configs can be loaded again without parsing their text.
+ * <p>
+ * Every snapshot is keyed by the path of its source file, relative to the
+ * directory of the manager, and stores the size, modification time and SHA-256
+ * of the source. A snapshot is only used while the size and modification time
+ * still match the source file.
+ * <p>
+ * The file is read once, on first use, with a single read into memory;
+ * snapshots are decoded from there on demand. Snapshots made since then
+ * are written together when the outermost {@link #beginBatch() batch} ends.
+ * Snapshots made outside of batches, e.g. when a single config file is reloaded,
+ * are written with the next batch or {@link #flush()}, so they never rewrite
+ * the whole file for a single source. Unwritten snapshots are only a lost cache:
+ * their sources are parsed again on the next load.
+ * <p>
+ * Thread-safe.
+ */
+public final class ConfigSnapshotStore {
+    private static final int MAGIC = 0x4154534E; // "ATSN"
+    private static final byte FORMAT_VERSION = 1;
+
+    private final ConfigManager configOwner;
+    private final Path file;
+
+    /**
+     * Snapshots by source path, loaded on first use. Guarded by this.
+     */
+    private Map<String, Entry> entries;
+    /**
+     * Sources read or snapshotted since the store was loaded. Guarded by this.
+     */
+    private final Set<String> touched = new HashSet<>();
+    private boolean dirty;
+    private int batchDepth;
+
+    /**
+     * Creates a store backed by the given file.
+     *
+     * @param configOwner the manager whose config files are snapshotted
+     * @param file        the snapshot file, created on the first write
+     */
+    public ConfigSnapshotStore(@NotNull ConfigManager configOwner, @NotNull Path file) {
+        this.configOwner = configOwner;
+        this.file = file;
+    }
+
+    /**
+     * Returns the snapshot file.
+     *
+     * @return the path
+     */
+    @NotNull
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Decodes the snapshot of a source file, if it was made of the file
+     * with the given size and modification time.
+     *
+     * @param source       path of the source file, relative to the manager directory
+     * @param type         the config type of the source
+     * @param size         current size of the source
+     * @param lastModified current modification time of the source in milliseconds
+     * @return the decoded snapshot, or null if there is no usable one
+     */
+    @Nullable
+    Loaded read(@NotNull Path source, @NotNull ConfigType type, long size, long lastModified) {
+        String key = keyOf(source);
+        Entry entry;
+        synchronized (this) {
+            touched.add(key);
+            entry = entries().get(key);
+        }
+        if (entry == null || !entry.type.equals(type.name())
+                || entry.size != size || entry.lastModified != lastModified) {
+            return null;
+        }
+        try {
+            return new Loaded(ConfigSnapshot.decode(entry.tree.duplicate(), configOwner, type), entry.hash);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            configOwner.getLogger().logWarn("Ignoring corrupt snapshot of " + key);
+            return null;
+        }
+    }
+
+    /**
+     * Stores a snapshot of the values parsed from a source file,
+     * unless they contain values that cannot be snapshotted.
+     *
+     * @param source       path of the source file, relative to the manager directory
+     * @param type         the config type of the source
+     * @param size         size of the source when it was read
+     * @param lastModified modification time of the source in milliseconds when it was read
+     * @param hash         SHA-256 of the source content
+     * @param data         the parsed values
+     */
+    void write(@NotNull Path source,
+               @NotNull ConfigType type,
+               long size,
+               long lastModified,
+               byte[] hash,
+               @NotNull Map<String, Object> data) {
+        byte[] tree = ConfigSnapshot.encode(data);
+        String key = keyOf(source);
+        synchronized (this) {
+            touched.add(key);
+            if (tree == null) {
+                dirty |= entries().remove(key) != null;
+            } else {
+                entries().put(key, new Entry(type.name(), size, lastModified, hash, ByteBuffer.wrap(tree)));
+                dirty = true;
+            }
+        }
+    }
+
+    /**
+     * Defers writing the snapshot file until the matching {@link #endBatch()},
+     * so loading many files writes it once. Batches may be nested.
+     */
+    public synchronized void beginBatch() {
+        batchDepth++;
+    }
+
+    /**
+     * Ends a batch started by {@link #beginBatch()},
+     * writing the snapshot file if this was the outermost batch.
+     */
+    public synchronized void endBatch() {
+        if (batchDepth == 0) {
+            throw new IllegalStateException("No batch to end");
+        }
+        if (--batchDepth == 0) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the snapshot file if snapshots were made since it was last written.
+     * Snapshots of sources that were not used since the store was loaded
+     * and no longer exist are dropped.
+     */
+    public synchronized void flush() {
+        if (!dirty) {
+            return;
+        }
+        Map<String, Entry> current = entries();
+        Path root = configOwner.getDirectory();
+        current.keySet().removeIf(key -> !touched.contains(key) && Files.notExists(root.resolve(key)));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * current.size() + 16);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(current.size());
+            for (Map.Entry<String, Entry> mapping : current.entrySet()) {
+                Entry entry = mapping.getValue();
+                writeString(out, mapping.getKey());
+                writeString(out, entry.type);
+                out.writeLong(entry.size);
+                out.writeLong(entry.lastModified);
+                out.writeByte(entry.hash.length);
+                out.write(entry.hash);
+                ByteBuffer tree = entry.tree.duplicate();
+                out.writeInt(tree.remaining());
+                byte[] copy = new byte[tree.remaining()];
+                tree.get(copy);
+                out.write(copy);
+            }
+        } catch (IOException e) {
+            // not thrown by in-memory streams
+            throw new IllegalStateException(e);
+        }
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            FileUtils.writeAtomically(file, bytes.toByteArray(), false);
+            dirty = false;
+        } catch (IOException e) {
+            configOwner.getLogger().logError("Failed to write config snapshots to " + file, e);
+        }
+    }
+
+    private @NotNull Map<String, Entry> entries() {
+        if (entries == null) {
+            entries = load();
+        }
+        return entries;
+    }
+
+    private @NotNull Map<String, Entry> load() {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot file too large: " + length);
+            }
+            buffer = ByteBuffer.allocate((int) length);
+            while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+                // read fully
+            }
+            buffer.flip();
+        } catch (NoSuchFileException e) {
+            return new HashMap<>();
+        } catch (IOException e) {
+            configOwner.getLogger().logError("Failed to read config snapshots from " + file, e);
+            return new HashMap<>();
+        }
+
+        try {
+            if (buffer.getInt() != MAGIC || buffer.get() != FORMAT_VERSION) {
+                // written by another version, made again from the sources
+                return new HashMap<>();
+            }
+            int count = buffer.getInt();
+            Map<String, Entry> loaded = new HashMap<>(Math.max(16, (int) (count / 0.75f) + 1));
+            for (int i = 0; i < count; i++) {
+                String key = readString(buffer);
+                String type = readString(buffer);
+                long size = buffer.getLong();
+                long lastModified = buffer.getLong();
+                byte[] hash = new byte[buffer.get() & 0xFF];
+                buffer.get(hash);
+                int treeLength = readLength(buffer);
+                ByteBuffer tree = buffer.slice();
+                tree.limit(treeLength);
+                buffer.position(buffer.position() + treeLength);
+                loaded.put(key, new Entry(type, size, lastModified, hash, tree));
+            }
+            return loaded;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            configOwner.getLogger().logWarn("Ignoring corrupt config snapshots in " + file);
+            return new HashMap<>();
+        }
+    }
+
+    private static @NotNull String keyOf(@NotNull Path source) {
+        return source.normalize().toString().replace(File.separatorChar, '/');
+    }
+
+    private static void writeString(@NotNull DataOutputStream out, @NotNull String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static @NotNull String readString(@NotNull ByteBuffer buffer) {
+        byte[] utf8 = new byte[readLength(buffer)];
+        buffer.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static int readLength(@NotNull ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Corrupt snapshot length " + length);
+        }
+        return length;
+    }
+
+    /**
+     * A decoded snapshot
+     */
+    static final class Loaded {
+        final Map<String, Object> data;
+        final byte[] hash;
+
+        private Loaded(@NotNull Map<String, Object> data, byte[] hash) {
+            this.data = data;
+            this.hash = hash;
+        }
+    }
+
+    private static final class Entry {
+        private final String type;
+        private final long size;
+        private final long lastModified;
+        private final byte[] hash;
+        /** the encoded tree, from position to limit */
+        private final ByteBuffer tree;
+
+        private Entry(@NotNull String type, long size, long lastModified, byte[] hash, @NotNull ByteBuffer tree) {
+            this.type = type;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+            this.tree = tree;
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package me.phoenixra.atumconfig.core.config.typehandlers;
 
 
+import lombok.Getter;
 import me.phoenixra.atumconfig.api.ConfigManager;
+import me.phoenixra.atumconfig.api.config.ConfigFormat;
 import me.phoenixra.atumconfig.api.config.ConfigParser;
 import me.phoenixra.atumconfig.api.config.ConfigType;
+import me.phoenixra.atumconfig.core.AtumConfigManager;
+import me.phoenixra.atumconfig.core.config.AtumConfig;
 import me.phoenixra.atumconfig.core.config.AtumConfigSection;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 import static me.phoenixra.atumconfig.core.config.typehandlers.ConfigTypeHandlers.HANDLERS;
@@ -15,27 +21,162 @@ import static me.phoenixra.atumconfig.core.config.typehandlers.ConfigTypeHandler
 public abstract class ConfigTypeHandler {
 
 
+    @Getter
     private ConfigType type;
     public ConfigTypeHandler(ConfigType type) {
         this.type = type;
     }
+
+    /**
+     * Whether the format is binary. Files of binary formats are read and written
+     * with {@link #load(ConfigManager, byte[])} and {@link #toBytes(Map)},
+     * and are not processed as text.
+     *
+     * @return true for binary formats
+     */
+    public boolean isBinary() {
+        return false;
+    }
     public Map<String,Object> toMap(ConfigManager configOwner, String input) {
         if (input == null || input.replace(" ", "").isEmpty()){
             return new HashMap<>();
         }
 
-        return normalizeToConfig(configOwner, type,parseToMap(input));
+        return load(configOwner, new StringReader(input));
+    }
+
+    /**
+     * Parses the input into a map of values constrained to config types,
+     * ready for {@link AtumConfig#applyNormalizedData(Map)}.
+     * <p>
+     * The default implementation reads the whole input and normalizes
+     * the result of {@link #parseToMap(String)}. Built-in handlers
+     * override it to build the sections directly while reading.
+     *
+     * @param configOwner manager owning the created sections
+     * @param input       reader to parse
+     * @return non-null map of normalized values
+     */
+    public Map<String,Object> load(ConfigManager configOwner, Reader input) {
+        String text = readToString(input);
+        if (text.trim().isEmpty()){
+            return new HashMap<>();
+        }
+        return normalizeToConfig(configOwner, type, parseToMap(text));
+    }
+
+    /**
+     * Parses the content of a file. The default implementation
+     * reads it as UTF-8 text with {@link #load(ConfigManager, Reader)}.
+     *
+     * @param configOwner manager owning the created sections
+     * @param content     the file content
+     * @return non-null map of normalized values
+     */
+    public Map<String,Object> load(ConfigManager configOwner, byte[] content) {
+        return load(configOwner, new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8));
     }
+
+    /**
+     * Parses a stream. The default implementation
+     * reads it as text in the platform charset.
+     *
+     * @param configOwner manager owning the created sections
+     * @param input       stream to parse, not closed
+     * @return non-null map of normalized values
+     */
+    public Map<String,Object> load(ConfigManager configOwner, InputStream input) throws IOException {
+        if (isBinary()) {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                content.write(buffer, 0, read);
+            }
+            return load(configOwner, content.toByteArray());
+        }
+        return load(configOwner, new InputStreamReader(input));
+    }
+
     protected abstract Map<String,Object> parseToMap(String input);
     public abstract String toString(Map<String,Object> map);
 
+    /**
+     * Serializes the values to the content of a file.
+     * The default implementation encodes {@link #toString(Map)} as UTF-8.
+     *
+     * @param map the values
+     * @return the file content
+     */
+    public byte[] toBytes(Map<String,Object> map) {
+        return toString(map).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates a section holding already normalized values.
+     */
+    protected AtumConfigSection newSection(ConfigManager configOwner, Map<String,Object> normalized) {
+        AtumConfigSection section = new AtumConfigSection(configOwner, type, null);
+        section.applyNormalizedData(normalized);
+        return section;
+    }
+
+
+    /**
+     * Returns the handler the manager uses for the type: the one
+     * {@link AtumConfigManager#addTypeHandler(ConfigTypeHandler) registered} on it,
+     * or the built-in one.
+     *
+     * @param configOwner the manager, may be null to get the built-in handler
+     * @param type        the config type
+     * @return the handler
+     */
+    public static @NotNull ConfigTypeHandler of(@Nullable ConfigManager configOwner, @NotNull ConfigType type) {
+        if (configOwner instanceof AtumConfigManager) {
+            return ((AtumConfigManager) configOwner).getTypeHandler(type);
+        }
+        return HANDLERS.get(type);
+    }
+
+    /**
+     * Returns the handler the manager uses for files with the extension:
+     * the one of the {@link ConfigManager#addConfigFormat(String, ConfigFormat) format registered}
+     * for the extension, or the handler of the type.
+     *
+     * @param configOwner   the manager, may be null to get the built-in handler
+     * @param type          the config type of the file
+     * @param fileExtension the extension of the file, without the leading dot
+     * @return the handler
+     */
+    public static @NotNull ConfigTypeHandler of(@Nullable ConfigManager configOwner,
+                                                @NotNull ConfigType type,
+                                                @NotNull String fileExtension) {
+        if (configOwner instanceof AtumConfigManager) {
+            ConfigTypeHandler handler = ((AtumConfigManager) configOwner).getFormatHandler(fileExtension);
+            if (handler != null) {
+                return handler;
+            }
+        } else if (configOwner != null) {
+            Optional<ConfigFormat> format = configOwner.getConfigFormat(fileExtension);
+            if (format.isPresent()) {
+                return new TypeHandlerFormat(format.get());
+            }
+        }
+        return of(configOwner, type);
+    }
 
     public static Map<String,Object> toMap(ConfigManager configOwner,@NotNull ConfigType type, @NotNull String input) {
-        return HANDLERS.get(type).toMap(configOwner,input);
+        return of(configOwner, type).toMap(configOwner,input);
+    }
+    public static Map<String,Object> load(ConfigManager configOwner,@NotNull ConfigType type, @NotNull Reader input) {
+        return of(configOwner, type).load(configOwner,input);
     }
     public static String toString(@NotNull ConfigType type, @NotNull Map<String,Object> map) {
         return HANDLERS.get(type).toString(map);
     }
+    public static String toString(ConfigManager configOwner, @NotNull ConfigType type, @NotNull Map<String,Object> map) {
+        return of(configOwner, type).toString(map);
+    }
     public static String toString(InputStream inputStream) throws IOException {
         //creating an InputStreamReader object
         InputStreamReader isReader = new InputStreamReader(inputStream);
@@ -53,8 +194,8 @@ public abstract class ConfigTypeHandler {
             return null;
         }
 
-        // 1) If there’s a parser for this exact input class, use it:
-        @NotNull Optional<? extends ConfigParser<?>> parser = configOwner.getConfigParser(input.getClass());
+        // 1) If there’s a parser for the input class or one of its supertypes, use it:
+        @NotNull Optional<ConfigParser<?>> parser = configOwner.getConfigParserFor(input.getClass());
         if (parser.isPresent()) {
             AtumConfigSection section = new AtumConfigSection(configOwner, type, null);
             return parser.get().toConfig(input, section);
@@ -64,7 +205,9 @@ public abstract class ConfigTypeHandler {
         if (input instanceof Map<?,?>) {
             Map<?,?> rawMap = (Map<?,?>) input;
             Map<String,Object> normalized = normalizeToConfig(configOwner, type, rawMap);
-            return new AtumConfigSection(configOwner, type, normalized);
+            AtumConfigSection section = new AtumConfigSection(configOwner, type, null);
+            section.applyNormalizedData(normalized);
+            return section;
         }
 
         // 3) If it’s any Iterable, process each element recursively:
@@ -74,7 +217,7 @@ public abstract class ConfigTypeHandler {
             for (Object elem : iterable) {
                 list.add(constrainConfigTypes(configOwner, type, elem));
             }
-            return list;
+            return Collections.unmodifiableList(list);
         }
 
         // 4) Otherwise, leave it alone (primitives, strings, etc.)
@@ -4,11 +4,20 @@ import me.phoenixra.atumconfig.api.config.ConfigType;
 
 import java.util.HashMap;
 
+/**
+ * The built-in handlers, used by managers without a handler
+ * {@link me.phoenixra.atumconfig.core.AtumConfigManager#addTypeHandler(ConfigTypeHandler) registered}
+ * for the type.
+ * <p>
+ * Replacing a handler in {@link #HANDLERS} still works, but affects every manager and is not thread-safe.
+ * Prefer registering handlers per manager, or formats for new file extensions with
+ * {@link me.phoenixra.atumconfig.api.ConfigManager#addConfigFormat(String, me.phoenixra.atumconfig.api.config.ConfigFormat)}.
+ */
 public class ConfigTypeHandlers {
     public static HashMap<ConfigType, ConfigTypeHandler> HANDLERS = new HashMap<>();
     static {
         HANDLERS.put(ConfigType.JSON, new TypeHandlerJson());
         HANDLERS.put(ConfigType.YAML, new TypeHandlerYaml());
-
+        HANDLERS.put(ConfigType.BINARY, new TypeHandlerBinary());
     }
 }
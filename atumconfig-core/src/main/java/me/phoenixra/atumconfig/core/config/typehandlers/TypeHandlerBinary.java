@@ -0,0 +1,519 @@
+package me.phoenixra.atumconfig.core.config.typehandlers;
+
+import me.phoenixra.atumconfig.api.ConfigManager;
+import me.phoenixra.atumconfig.api.config.Config;
+import me.phoenixra.atumconfig.api.config.ConfigType;
+import me.phoenixra.atumconfig.core.config.AtumConfig;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Compact binary format for machine-written configs, such as player data.
+ * <p>
+ * Files are plain CBOR (RFC 8949) documents holding a single map,
+ * prefixed with the self-describing tag so tools recognize them.
+ * Integers and floating-point numbers take as few bytes as hold their value exactly,
+ * strings are UTF-8, big numbers use the bignum and decimal fraction tags.
+ * Floating-point numbers are read as {@link Double}, like in the text formats.
+ * Values of other classes are written as their {@link String#valueOf(Object) text}.
+ * <p>
+ * The {@link #toString(Map) text form}, used by {@link AtumConfig#toPlaintext()}
+ * and {@link ConfigManager#createConfigFromString(ConfigType, String)}, is Base64.
+ */
+public class TypeHandlerBinary extends ConfigTypeHandler {
+    private static final int MAJOR_UNSIGNED = 0;
+    private static final int MAJOR_NEGATIVE = 1;
+    private static final int MAJOR_BYTES = 2;
+    private static final int MAJOR_TEXT = 3;
+    private static final int MAJOR_ARRAY = 4;
+    private static final int MAJOR_MAP = 5;
+    private static final int MAJOR_TAG = 6;
+    private static final int MAJOR_SIMPLE = 7;
+
+    private static final int SIMPLE_FALSE = 20;
+    private static final int SIMPLE_TRUE = 21;
+    private static final int SIMPLE_NULL = 22;
+    private static final int FLOAT_16 = 25;
+    private static final int FLOAT_32 = 26;
+    private static final int FLOAT_64 = 27;
+
+    private static final long TAG_POSITIVE_BIGNUM = 2;
+    private static final long TAG_NEGATIVE_BIGNUM = 3;
+    private static final long TAG_DECIMAL_FRACTION = 4;
+    private static final long TAG_SELF_DESCRIBED = 55799;
+
+    private static final BigInteger LONG_RANGE = BigInteger.ONE.shiftLeft(64);
+
+    public TypeHandlerBinary() {
+        super(ConfigType.BINARY);
+    }
+
+    @Override
+    public boolean isBinary() {
+        return true;
+    }
+
+    @Override
+    public Map<String, Object> load(ConfigManager configOwner, byte[] content) {
+        if (content.length == 0) {
+            return new HashMap<>();
+        }
+        return new Decoder(content, configOwner).readDocument();
+    }
+
+    @Override
+    public Map<String, Object> load(ConfigManager configOwner, Reader input) {
+        return load(configOwner, decodeText(readToString(input)));
+    }
+
+    @Override
+    protected Map<String, Object> parseToMap(String input) {
+        byte[] content = decodeText(input);
+        return content.length == 0 ? new HashMap<>() : new Decoder(content, null).readDocument();
+    }
+
+    @Override
+    public byte[] toBytes(Map<String, Object> map) {
+        Encoder encoder = new Encoder();
+        encoder.writeHead(MAJOR_TAG, TAG_SELF_DESCRIBED);
+        encoder.writeMap(map);
+        return encoder.toByteArray();
+    }
+
+    @Override
+    public String toString(Map<String, Object> map) {
+        return Base64.getEncoder().encodeToString(toBytes(map));
+    }
+
+    private static byte[] decodeText(@NotNull String text) {
+        // the MIME decoder skips line breaks and other whitespace
+        return Base64.getMimeDecoder().decode(text.trim());
+    }
+
+    private static final class Encoder {
+        private byte[] buffer = new byte[256];
+        private int size;
+
+        private void writeMap(@NotNull Map<?, ?> map) {
+            writeHead(MAJOR_MAP, map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeText(String.valueOf(entry.getKey()));
+                writeValue(entry.getValue());
+            }
+        }
+
+        private void writeValue(@Nullable Object value) {
+            if (value == null) {
+                writeByte(MAJOR_SIMPLE << 5 | SIMPLE_NULL);
+            } else if (value instanceof Config) {
+                writeMap(((Config) value).toMap());
+            } else if (value instanceof Map) {
+                writeMap((Map<?, ?>) value);
+            } else if (value instanceof Collection) {
+                Collection<?> collection = (Collection<?>) value;
+                writeHead(MAJOR_ARRAY, collection.size());
+                for (Object element : collection) {
+                    writeValue(element);
+                }
+            } else if (value instanceof String) {
+                writeText((String) value);
+            } else if (value instanceof Boolean) {
+                writeByte(MAJOR_SIMPLE << 5 | ((Boolean) value ? SIMPLE_TRUE : SIMPLE_FALSE));
+            } else if (value instanceof Integer || value instanceof Long
+                    || value instanceof Short || value instanceof Byte) {
+                writeInteger(((Number) value).longValue());
+            } else if (value instanceof Double || value instanceof Float) {
+                writeFloat(((Number) value).doubleValue());
+            } else if (value instanceof BigInteger) {
+                writeBigInteger((BigInteger) value);
+            } else if (value instanceof BigDecimal) {
+                BigDecimal decimal = (BigDecimal) value;
+                writeHead(MAJOR_TAG, TAG_DECIMAL_FRACTION);
+                writeHead(MAJOR_ARRAY, 2);
+                writeInteger(-decimal.scale());
+                writeBigInteger(decimal.unscaledValue());
+            } else {
+                writeText(String.valueOf(value));
+            }
+        }
+
+        private void writeInteger(long value) {
+            if (value >= 0) {
+                writeHead(MAJOR_UNSIGNED, value);
+            } else {
+                writeHead(MAJOR_NEGATIVE, -1 - value);
+            }
+        }
+
+        private void writeBigInteger(@NotNull BigInteger value) {
+            if (value.bitLength() < 64) {
+                writeInteger(value.longValue());
+                return;
+            }
+            boolean negative = value.signum() < 0;
+            BigInteger magnitude = negative ? value.negate().subtract(BigInteger.ONE) : value;
+            if (magnitude.bitLength() <= 64) {
+                writeHead(negative ? MAJOR_NEGATIVE : MAJOR_UNSIGNED, magnitude.longValue());
+                return;
+            }
+            writeHead(MAJOR_TAG, negative ? TAG_NEGATIVE_BIGNUM : TAG_POSITIVE_BIGNUM);
+            byte[] bytes = magnitude.toByteArray();
+            // toByteArray adds a sign byte when the highest bit is set
+            int offset = bytes[0] == 0 ? 1 : 0;
+            writeHead(MAJOR_BYTES, bytes.length - offset);
+            writeBytes(bytes, offset, bytes.length - offset);
+        }
+
+        /**
+         * Writes a floating-point number in the shortest of the half, single
+         * and double precision forms that holds it exactly.
+         */
+        private void writeFloat(double value) {
+            float single = (float) value;
+            if (single != value && !Double.isNaN(value)) {
+                writeByte(MAJOR_SIMPLE << 5 | FLOAT_64);
+                writeLong(Double.doubleToLongBits(value));
+                return;
+            }
+            int half = floatToHalf(single);
+            if (half != -1) {
+                writeByte(MAJOR_SIMPLE << 5 | FLOAT_16);
+                writeByte(half >>> 8);
+                writeByte(half);
+            } else {
+                writeByte(MAJOR_SIMPLE << 5 | FLOAT_32);
+                writeInt(Float.floatToIntBits(single));
+            }
+        }
+
+        private void writeText(@NotNull String text) {
+            byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+            writeHead(MAJOR_TEXT, utf8.length);
+            writeBytes(utf8, 0, utf8.length);
+        }
+
+        /**
+         * Writes the initial byte of an item with its argument in as few bytes as possible.
+         * The argument is unsigned.
+         */
+        private void writeHead(int major, long argument) {
+            int type = major << 5;
+            if (argument >= 0 && argument < 24) {
+                writeByte(type | (int) argument);
+            } else if (argument >= 0 && argument <= 0xFF) {
+                writeByte(type | 24);
+                writeByte((int) argument);
+            } else if (argument >= 0 && argument <= 0xFFFF) {
+                writeByte(type | 25);
+                writeByte((int) (argument >>> 8));
+                writeByte((int) argument);
+            } else if (argument >= 0 && argument <= 0xFFFFFFFFL) {
+                writeByte(type | 26);
+                writeInt((int) argument);
+            } else {
+                writeByte(type | 27);
+                writeLong(argument);
+            }
+        }
+
+        private void writeInt(int value) {
+            writeByte(value >>> 24);
+            writeByte(value >>> 16);
+            writeByte(value >>> 8);
+            writeByte(value);
+        }
+
+        private void writeLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        private void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) value;
+        }
+
+        private void writeBytes(byte[] bytes, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(bytes, offset, buffer, size, length);
+            size += length;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    /**
+     * Reads a document into sections of the owner,
+     * or into plain maps when there is no owner.
+     */
+    private final class Decoder {
+        private final byte[] content;
+        private final ConfigManager configOwner;
+        private int position;
+
+        private Decoder(byte[] content, @Nullable ConfigManager configOwner) {
+            this.content = content;
+            this.configOwner = configOwner;
+        }
+
+        private @NotNull Map<String, Object> readDocument() {
+            int initial = peek();
+            Map<String, Object> map;
+            if (initial == (MAJOR_SIMPLE << 5 | SIMPLE_NULL)) {
+                position++;
+                map = new HashMap<>();
+            } else {
+                Object root = readValue();
+                if (!(root instanceof Map)) {
+                    throw malformed("Expected a map at the root of the document");
+                }
+                @SuppressWarnings("unchecked")
+                Map<String, Object> values = (Map<String, Object>) root;
+                map = values;
+            }
+            if (position != content.length) {
+                throw malformed("Unexpected data after the document");
+            }
+            return map;
+        }
+
+        /**
+         * Reads a value, returning maps for maps so the root is not wrapped into a section.
+         */
+        private @Nullable Object readValue() {
+            int initial = readByte();
+            int major = initial >>> 5;
+            int additional = initial & 0x1F;
+            if (major == MAJOR_SIMPLE) {
+                return readSimple(additional);
+            }
+            long argument = readArgument(additional);
+            switch (major) {
+                case MAJOR_UNSIGNED:
+                    return argument >= 0 ? narrow(argument) : BigInteger.valueOf(argument).add(LONG_RANGE);
+                case MAJOR_NEGATIVE:
+                    return argument >= 0
+                            ? narrow(-1 - argument)
+                            : BigInteger.valueOf(argument).add(LONG_RANGE).add(BigInteger.ONE).negate();
+                case MAJOR_BYTES:
+                    throw malformed("Byte strings are only supported in bignums");
+                case MAJOR_TEXT:
+                    int length = checkLength(argument);
+                    String text = new String(content, position, length, StandardCharsets.UTF_8);
+                    position += length;
+                    return text;
+                case MAJOR_ARRAY:
+                    int size = checkLength(argument);
+                    List<Object> list = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        list.add(readNested());
+                    }
+                    return Collections.unmodifiableList(list);
+                case MAJOR_MAP:
+                    int entries = checkLength(argument);
+                    Map<String, Object> map = new LinkedHashMap<>(Math.max(4, (int) (entries / 0.75f) + 1));
+                    for (int i = 0; i < entries; i++) {
+                        Object key = readValue();
+                        if (!(key instanceof String)) {
+                            throw malformed("Map keys must be text, got " + key);
+                        }
+                        Object value = readNested();
+                        if (map.put((String) key, value) != null) {
+                            throw malformed("Duplicate key: " + key);
+                        }
+                    }
+                    return map;
+                default:
+                    return readTagged(argument);
+            }
+        }
+
+        /**
+         * Reads a value inside of a map or array, wrapping maps into sections.
+         */
+        private @Nullable Object readNested() {
+            Object value = readValue();
+            if (value instanceof Map && configOwner != null) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> values = (Map<String, Object>) value;
+                return newSection(configOwner, values);
+            }
+            return value;
+        }
+
+        private @NotNull Object readTagged(long tag) {
+            if (tag == TAG_SELF_DESCRIBED) {
+                Object value = readValue();
+                if (value == null) {
+                    throw malformed("Expected a value after the self-describing tag");
+                }
+                return value;
+            }
+            if (tag == TAG_POSITIVE_BIGNUM || tag == TAG_NEGATIVE_BIGNUM) {
+                int initial = readByte();
+                if (initial >>> 5 != MAJOR_BYTES) {
+                    throw malformed("Expected a byte string in a bignum");
+                }
+                int length = checkLength(readArgument(initial & 0x1F));
+                BigInteger magnitude = new BigInteger(1, Arrays.copyOfRange(content, position, position + length));
+                position += length;
+                return tag == TAG_POSITIVE_BIGNUM ? magnitude : magnitude.add(BigInteger.ONE).negate();
+            }
+            if (tag == TAG_DECIMAL_FRACTION) {
+                if (readByte() != (MAJOR_ARRAY << 5 | 2)) {
+                    throw malformed("Expected an array of two integers in a decimal fraction");
+                }
+                Object exponent = readValue();
+                Object mantissa = readValue();
+                if (!(exponent instanceof Integer) || !(mantissa instanceof Number)
+                        || mantissa instanceof Double || mantissa instanceof Float) {
+                    throw malformed("Expected an array of two integers in a decimal fraction");
+                }
+                BigInteger unscaled = mantissa instanceof BigInteger
+                        ? (BigInteger) mantissa
+                        : BigInteger.valueOf(((Number) mantissa).longValue());
+                return new BigDecimal(unscaled, -(Integer) exponent);
+            }
+            throw malformed("Unsupported tag " + tag);
+        }
+
+        private @Nullable Object readSimple(int additional) {
+            switch (additional) {
+                case SIMPLE_FALSE:
+                    return Boolean.FALSE;
+                case SIMPLE_TRUE:
+                    return Boolean.TRUE;
+                case SIMPLE_NULL:
+                    return null;
+                case FLOAT_16:
+                    return (double) halfToFloat((readByte() << 8) | readByte());
+                case FLOAT_32:
+                    return (double) Float.intBitsToFloat((int) readBytes(4));
+                case FLOAT_64:
+                    return Double.longBitsToDouble(readBytes(8));
+                default:
+                    throw malformed("Unsupported simple value " + additional);
+            }
+        }
+
+        /**
+         * Reads the argument following the initial byte. Values above
+         * {@link Long#MAX_VALUE} are returned as negative numbers.
+         */
+        private long readArgument(int additional) {
+            if (additional < 24) {
+                return additional;
+            }
+            switch (additional) {
+                case 24:
+                    return readBytes(1);
+                case 25:
+                    return readBytes(2);
+                case 26:
+                    return readBytes(4);
+                case 27:
+                    return readBytes(8);
+                case 31:
+                    throw malformed("Indefinite-length items are not supported");
+                default:
+                    throw malformed("Invalid additional information " + additional);
+            }
+        }
+
+        private long readBytes(int count) {
+            long value = 0;
+            for (int i = 0; i < count; i++) {
+                value = value << 8 | readByte();
+            }
+            return value;
+        }
+
+        private int readByte() {
+            if (position >= content.length) {
+                throw malformed("Unexpected end of data");
+            }
+            return content[position++] & 0xFF;
+        }
+
+        private int peek() {
+            if (position >= content.length) {
+                throw malformed("Unexpected end of data");
+            }
+            return content[position] & 0xFF;
+        }
+
+        /**
+         * Checks that a length fits in the remaining data,
+         * as every item takes at least one byte.
+         */
+        private int checkLength(long length) {
+            if (length < 0 || length > content.length - position) {
+                throw malformed("Invalid length " + length);
+            }
+            return (int) length;
+        }
+
+        private @NotNull Number narrow(long value) {
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                return (int) value;
+            }
+            return value;
+        }
+
+        private @NotNull IllegalArgumentException malformed(@NotNull String message) {
+            return new IllegalArgumentException("Malformed binary config at byte " + position + ": " + message);
+        }
+    }
+
+    /**
+     * Converts to half precision bits, or returns -1 if the value
+     * is not exactly representable as a normal half precision number.
+     */
+    private static int floatToHalf(float value) {
+        int bits = Float.floatToIntBits(value);
+        int sign = (bits >>> 16) & 0x8000;
+        if (Float.isNaN(value)) {
+            return 0x7E00;
+        }
+        if (Float.isInfinite(value)) {
+            return sign | 0x7C00;
+        }
+        if (value == 0) {
+            return sign;
+        }
+        int exponent = ((bits >>> 23) & 0xFF) - 127;
+        int mantissa = bits & 0x7FFFFF;
+        if (exponent < -14 || exponent > 15 || (mantissa & 0x1FFF) != 0) {
+            return -1;
+        }
+        return sign | (exponent + 15) << 10 | mantissa >>> 13;
+    }
+
+    private static float halfToFloat(int half) {
+        int exponent = (half >>> 10) & 0x1F;
+        int mantissa = half & 0x3FF;
+        float value;
+        if (exponent == 0) {
+            value = mantissa * 0x1p-24f;
+        } else if (exponent == 31) {
+            value = mantissa == 0 ? Float.POSITIVE_INFINITY : Float.NaN;
+        } else {
+            value = (mantissa + 1024) * (float) Math.pow(2, exponent - 25);
+        }
+        return (half & 0x8000) != 0 ? -value : value;
+    }
+}
@@ -0,0 +1,97 @@
+package me.phoenixra.atumconfig.core.config.typehandlers;
+
+import lombok.Getter;
+import me.phoenixra.atumconfig.api.ConfigManager;
+import me.phoenixra.atumconfig.api.config.Config;
+import me.phoenixra.atumconfig.api.config.ConfigFormat;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Handles the files of a {@link ConfigFormat}
+ * {@link ConfigManager#addConfigFormat(String, ConfigFormat) registered} on a manager.
+ * <p>
+ * Values read by the format are normalized like the values of the built-in formats,
+ * and sections are passed to the format as plain maps.
+ * The text form of binary formats is Base64, like for {@link TypeHandlerBinary}.
+ */
+public class TypeHandlerFormat extends ConfigTypeHandler {
+    @Getter
+    private final ConfigFormat format;
+
+    public TypeHandlerFormat(@NotNull ConfigFormat format) {
+        super(format.getType());
+        this.format = format;
+    }
+
+    @Override
+    public boolean isBinary() {
+        return format.isBinary();
+    }
+
+    @Override
+    public Map<String, Object> load(ConfigManager configOwner, byte[] content) {
+        if (content.length == 0) {
+            return new HashMap<>();
+        }
+        return normalizeToConfig(configOwner, getType(), format.read(content));
+    }
+
+    @Override
+    public Map<String, Object> load(ConfigManager configOwner, Reader input) {
+        return load(configOwner, fromText(readToString(input)));
+    }
+
+    @Override
+    protected Map<String, Object> parseToMap(String input) {
+        byte[] content = fromText(input);
+        return content.length == 0 ? new HashMap<>() : format.read(content);
+    }
+
+    @Override
+    public byte[] toBytes(Map<String, Object> map) {
+        return format.write(toPlainMap(map));
+    }
+
+    @Override
+    public String toString(Map<String, Object> map) {
+        byte[] content = toBytes(map);
+        return isBinary()
+                ? Base64.getEncoder().encodeToString(content)
+                : new String(content, StandardCharsets.UTF_8);
+    }
+
+    private byte[] fromText(@NotNull String text) {
+        return isBinary()
+                ? Base64.getMimeDecoder().decode(text.trim())
+                : text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static @NotNull Map<String, Object> toPlainMap(@NotNull Map<?, ?> map) {
+        Map<String, Object> plain = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            plain.put(String.valueOf(entry.getKey()), toPlain(entry.getValue()));
+        }
+        return plain;
+    }
+
+    private static Object toPlain(Object value) {
+        if (value instanceof Config) {
+            return toPlainMap(((Config) value).toMap());
+        }
+        if (value instanceof Map) {
+            return toPlainMap((Map<?, ?>) value);
+        }
+        if (value instanceof Collection) {
+            List<Object> list = new ArrayList<>();
+            for (Object element : (Collection<?>) value) {
+                list.add(toPlain(element));
+            }
+            return list;
+        }
+        return value;
+    }
+}
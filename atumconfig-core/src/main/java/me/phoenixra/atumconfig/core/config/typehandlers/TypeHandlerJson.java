@@ -1,13 +1,20 @@
 package me.phoenixra.atumconfig.core.config.typehandlers;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
 import lombok.Getter;
+import me.phoenixra.atumconfig.api.ConfigManager;
 import me.phoenixra.atumconfig.api.config.Config;
 import me.phoenixra.atumconfig.api.config.ConfigType;
 import me.phoenixra.atumconfig.core.config.AtumConfigSection;
 
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
 import java.lang.reflect.Type;
-import java.util.Map;
+import java.util.*;
 
 public class TypeHandlerJson extends ConfigTypeHandler {
     @Getter
@@ -16,6 +23,84 @@ public class TypeHandlerJson extends ConfigTypeHandler {
         super(ConfigType.JSON);
     }
 
+    /**
+     * Reads the JSON document token by token, creating sections
+     * directly instead of parsing into an intermediate map first.
+     * Follows the rules of {@code gson.fromJson(input, Map.class)}:
+     * lenient syntax, numbers as {@link Double}, duplicate keys rejected.
+     */
+    @Override
+    public Map<String, Object> load(ConfigManager configOwner, Reader input) {
+        JsonReader reader = new JsonReader(input);
+        reader.setLenient(true);
+        try {
+            JsonToken token;
+            try {
+                token = reader.peek();
+            } catch (EOFException e) {
+                // empty document
+                return new HashMap<>();
+            }
+            if (token == JsonToken.NULL) {
+                reader.nextNull();
+                return new HashMap<>();
+            }
+            if (token != JsonToken.BEGIN_OBJECT) {
+                throw new JsonSyntaxException("Expected a JSON object but was " + token + " at path " + reader.getPath());
+            }
+            Map<String, Object> map = readObject(configOwner, reader);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("JSON document was not fully consumed.");
+            }
+            return map;
+        } catch (MalformedJsonException | IllegalStateException e) {
+            throw new JsonSyntaxException(e);
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    private Map<String, Object> readObject(ConfigManager configOwner, JsonReader reader) throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            Object value = readValue(configOwner, reader);
+            if (map.containsKey(key)) {
+                throw new JsonSyntaxException("duplicate key: " + key);
+            }
+            map.put(key, value);
+        }
+        reader.endObject();
+        return map;
+    }
+
+    private Object readValue(ConfigManager configOwner, JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                return newSection(configOwner, readObject(configOwner, reader));
+            case BEGIN_ARRAY:
+                List<Object> list = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    list.add(readValue(configOwner, reader));
+                }
+                reader.endArray();
+                return Collections.unmodifiableList(list);
+            case STRING:
+                return reader.nextString();
+            case NUMBER:
+                return reader.nextDouble();
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NULL:
+                reader.nextNull();
+                return null;
+            default:
+                throw new JsonSyntaxException("Unexpected token " + reader.peek() + " at path " + reader.getPath());
+        }
+    }
+
     @Override
     protected Map<String, Object> parseToMap(String input) {
         return serializer.gson.fromJson(input, Map.class);
@@ -1,40 +1,88 @@
 package me.phoenixra.atumconfig.core.config.typehandlers;
 
+import me.phoenixra.atumconfig.api.ConfigManager;
 import me.phoenixra.atumconfig.api.config.Config;
 import me.phoenixra.atumconfig.api.config.ConfigType;
 import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.Mark;
+import org.yaml.snakeyaml.error.MarkedYAMLException;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.*;
 import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.parser.Parser;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
 import org.yaml.snakeyaml.representer.Represent;
 import org.yaml.snakeyaml.representer.Representer;
+import org.yaml.snakeyaml.resolver.Resolver;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.Reader;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 public class TypeHandlerYaml extends ConfigTypeHandler{
 
     public TypeHandlerYaml() {
         super(ConfigType.YAML);
     }
-    private Yaml newYaml() {
+    /**
+     * Yaml instances are not thread-safe and costly to set up,
+     * so engines are reused from a pool of this handler.
+     * Threads take an engine for a single parse or dump and return it afterwards,
+     * creating a new one when the pool is empty and dropping it when the pool is full.
+     * Unlike thread-local engines, pooled engines are released with the handler
+     * and never kept alive by long-lived threads.
+     */
+    private final BlockingQueue<YamlEngine> engines =
+            new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
 
-        DumperOptions yamlOptions = new DumperOptions();
-        org.yaml.snakeyaml.LoaderOptions loaderOptions = new  org.yaml.snakeyaml.LoaderOptions();
-        YamlRepresenter representer = new YamlRepresenter(yamlOptions);
+    private YamlEngine takeEngine() {
+        YamlEngine engine = engines.poll();
+        return engine != null ? engine : new YamlEngine();
+    }
+
+    private void releaseEngine(YamlEngine engine) {
+        engines.offer(engine);
+    }
+
+    /**
+     * Drops the pooled engines, new ones are created on demand.
+     */
+    public void clearEngines() {
+        engines.clear();
+    }
+
+    private class YamlEngine {
+        private final LoaderOptions loaderOptions = new LoaderOptions();
+        private final ScalarConstructor constructor;
+        private final Resolver resolver = new Resolver();
+        private final Yaml yaml;
 
-        loaderOptions.setAllowDuplicateKeys(false);
-        yamlOptions.setIndent(2);
-        yamlOptions.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        private YamlEngine() {
+            DumperOptions yamlOptions = new DumperOptions();
+            YamlRepresenter representer = new YamlRepresenter(yamlOptions);
 
-        representer.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+            loaderOptions.setAllowDuplicateKeys(false);
+            yamlOptions.setIndent(2);
+            yamlOptions.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
 
-        return new Yaml(
-                new SafeConstructor(loaderOptions),
-                representer,
-                yamlOptions,
-                loaderOptions
-        );
+            representer.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+
+            constructor = new ScalarConstructor(loaderOptions);
+            yaml = new Yaml(
+                    new SafeConstructor(loaderOptions),
+                    representer,
+                    yamlOptions,
+                    loaderOptions
+            );
+        }
     }
 
     public class YamlRepresenter extends Representer {
@@ -58,9 +106,257 @@ public class TypeHandlerYaml extends ConfigTypeHandler{
             }
         }
     }
+    /**
+     * Reads the YAML document event by event, creating sections
+     * directly instead of composing a node tree and a map first.
+     * <p>
+     * Scalars are resolved the same way {@link SafeConstructor} does,
+     * anchors, aliases and merge keys ({@code <<}) are supported
+     * and duplicate keys are rejected.
+     * Like the composer of {@link Yaml}, the loader enforces the
+     * {@link LoaderOptions#getMaxAliasesForCollections() aliases for collections}
+     * and {@link LoaderOptions#getNestingDepthLimit() nesting depth} limits.
+     */
+    @Override
+    public Map<String, Object> load(ConfigManager configOwner, Reader input) {
+        YamlEngine engine = takeEngine();
+        try {
+            return new EventLoader(
+                    configOwner,
+                    new ParserImpl(new StreamReader(input), engine.loaderOptions),
+                    engine.loaderOptions,
+                    engine.constructor,
+                    engine.resolver
+            ).loadDocument();
+        } finally {
+            releaseEngine(engine);
+        }
+    }
+
+    private class EventLoader {
+        private final ConfigManager configOwner;
+        private final Parser parser;
+        private final LoaderOptions loaderOptions;
+        private final ScalarConstructor constructor;
+        private final Resolver resolver;
+        private final Map<String, Object> anchors = new HashMap<>();
+        private int collectionAliases;
+        private int nestingDepth;
+
+        private EventLoader(ConfigManager configOwner, Parser parser, LoaderOptions loaderOptions,
+                            ScalarConstructor constructor, Resolver resolver) {
+            this.configOwner = configOwner;
+            this.parser = parser;
+            this.loaderOptions = loaderOptions;
+            this.constructor = constructor;
+            this.resolver = resolver;
+        }
+
+        private Map<String, Object> loadDocument() {
+            parser.getEvent(); // stream start
+            Map<String, Object> result = new HashMap<>();
+            if (!parser.checkEvent(Event.ID.StreamEnd)) {
+                parser.getEvent(); // document start
+                Event event = parser.peekEvent();
+                if (event.is(Event.ID.MappingStart)) {
+                    parser.getEvent();
+                    increaseNestingDepth();
+                    result = readMapping((MappingStartEvent) event);
+                    nestingDepth--;
+                } else if (!isNull(event)) {
+                    throw new LoadException(null, null,
+                            "expected a mapping at the root of the document", event.getStartMark());
+                } else {
+                    parser.getEvent();
+                }
+                parser.getEvent(); // document end
+                if (!parser.checkEvent(Event.ID.StreamEnd)) {
+                    throw new LoadException("expected a single document in the stream", null,
+                            "but found another document", parser.getEvent().getStartMark());
+                }
+            }
+            parser.getEvent(); // stream end
+            return result;
+        }
+
+        private boolean isNull(Event event) {
+            return event.is(Event.ID.Scalar)
+                    && readTag((ScalarEvent) event).equals(Tag.NULL);
+        }
+
+        private Object readValue() {
+            Event event = parser.getEvent();
+            switch (event.getEventId()) {
+                case Alias:
+                    String alias = ((AliasEvent) event).getAnchor();
+                    if (!anchors.containsKey(alias)) {
+                        throw new LoadException(null, null,
+                                "found undefined alias " + alias, event.getStartMark());
+                    }
+                    Object aliased = anchors.get(alias);
+                    if (aliased instanceof Config || aliased instanceof List<?>) {
+                        increaseCollectionAliases();
+                    }
+                    return copyOf(aliased);
+                case Scalar:
+                    ScalarEvent scalar = (ScalarEvent) event;
+                    return anchor(scalar, constructor.constructValue(toNode(scalar)));
+                case SequenceStart:
+                    increaseNestingDepth();
+                    List<Object> list = new ArrayList<>();
+                    while (!parser.checkEvent(Event.ID.SequenceEnd)) {
+                        list.add(readValue());
+                    }
+                    parser.getEvent();
+                    nestingDepth--;
+                    return anchor((NodeEvent) event, Collections.unmodifiableList(list));
+                case MappingStart:
+                    increaseNestingDepth();
+                    Map<String, Object> map = readMapping((MappingStartEvent) event);
+                    nestingDepth--;
+                    return anchor((NodeEvent) event, newSection(configOwner, map));
+                default:
+                    throw new LoadException(null, null,
+                            "unexpected event " + event.getEventId(), event.getStartMark());
+            }
+        }
+
+        private Map<String, Object> readMapping(MappingStartEvent start) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            Set<String> explicitKeys = new HashSet<>();
+            while (!parser.checkEvent(Event.ID.MappingEnd)) {
+                Event keyEvent = parser.peekEvent();
+                if (keyEvent.is(Event.ID.Scalar)
+                        && readTag((ScalarEvent) keyEvent).equals(Tag.MERGE)) {
+                    parser.getEvent();
+                    merge(map, readValue(), keyEvent);
+                    continue;
+                }
+                String key = String.valueOf(readValue());
+                Object value = readValue();
+                if (!explicitKeys.add(key)) {
+                    throw new LoadException("while constructing a mapping", start.getStartMark(),
+                            "found duplicate key " + key, keyEvent.getStartMark());
+                }
+                map.put(key, value);
+            }
+            parser.getEvent();
+            return map;
+        }
+
+        /**
+         * Aliased collections are copied, so documents aliasing them repeatedly
+         * are rejected before they expand exponentially.
+         */
+        private void increaseCollectionAliases() {
+            if (++collectionAliases > loaderOptions.getMaxAliasesForCollections()) {
+                throw new YAMLException("Number of aliases for non-scalar nodes exceeds the specified max="
+                        + loaderOptions.getMaxAliasesForCollections());
+            }
+        }
+
+        private void increaseNestingDepth() {
+            if (nestingDepth > loaderOptions.getNestingDepthLimit()) {
+                throw new YAMLException("Exceeded max limit for nesting depth ("
+                        + loaderOptions.getNestingDepthLimit() + ")");
+            }
+            nestingDepth++;
+        }
+
+        /**
+         * Adds the entries of merged mappings, which never override keys already present.
+         */
+        private void merge(Map<String, Object> map, Object merged, Event mark) {
+            if (merged instanceof Config) {
+                for (Map.Entry<String, Object> entry : ((Config) merged).toMap().entrySet()) {
+                    map.putIfAbsent(entry.getKey(), entry.getValue());
+                }
+            } else if (merged instanceof List<?>) {
+                for (Object element : (List<?>) merged) {
+                    if (!(element instanceof Config)) {
+                        throw new LoadException("while constructing a mapping", null,
+                                "expected a mapping for merging", mark.getStartMark());
+                    }
+                    merge(map, element, mark);
+                }
+            } else {
+                throw new LoadException("while constructing a mapping", null,
+                        "expected a mapping or list of mappings for merging", mark.getStartMark());
+            }
+        }
+
+        /**
+         * Copies an aliased value, so that it is not dumped back with anchors
+         * and every section keeps a single parent.
+         */
+        private Object copyOf(Object value) {
+            if (value instanceof Config) {
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (Map.Entry<String, Object> entry : ((Config) value).toMap().entrySet()) {
+                    map.put(entry.getKey(), copyOf(entry.getValue()));
+                }
+                return newSection(configOwner, map);
+            }
+            if (value instanceof List<?>) {
+                List<Object> list = new ArrayList<>();
+                for (Object element : (List<?>) value) {
+                    list.add(copyOf(element));
+                }
+                return Collections.unmodifiableList(list);
+            }
+            return value;
+        }
+
+        private Object anchor(NodeEvent event, Object value) {
+            if (event.getAnchor() != null) {
+                anchors.put(event.getAnchor(), value);
+            }
+            return value;
+        }
+
+        private Tag readTag(ScalarEvent event) {
+            String tag = event.getTag();
+            if (tag == null || tag.equals("!")) {
+                return resolver.resolve(NodeId.scalar, event.getValue(),
+                        event.getImplicit().canOmitTagInPlainScalar());
+            }
+            return new Tag(tag);
+        }
+
+        private ScalarNode toNode(ScalarEvent event) {
+            return new ScalarNode(readTag(event), event.getValue(),
+                    event.getStartMark(), event.getEndMark(), event.getScalarStyle());
+        }
+    }
+
+    /**
+     * Exposes the scalar constructors of {@link SafeConstructor}.
+     */
+    private static class ScalarConstructor extends SafeConstructor {
+        private ScalarConstructor(LoaderOptions loaderOptions) {
+            super(loaderOptions);
+        }
+
+        private Object constructValue(ScalarNode node) {
+            return getConstructor(node).construct(node);
+        }
+    }
+
+    private static class LoadException extends MarkedYAMLException {
+        private LoadException(String context, Mark contextMark, String problem, Mark problemMark) {
+            super(context, contextMark, problem, problemMark);
+        }
+    }
+
     @Override
     protected Map<String, Object> parseToMap(String input) {
-        Map<String,Object> map = newYaml().load(input);
+        Map<String,Object> map;
+        YamlEngine engine = takeEngine();
+        try {
+            map = engine.yaml.load(input);
+        } finally {
+            releaseEngine(engine);
+        }
         if(map == null){
             return new HashMap<>();
         }
@@ -69,7 +365,12 @@ public class TypeHandlerYaml extends ConfigTypeHandler{
 
     @Override
     public String toString(Map<String, Object> map) {
-        return newYaml().dump(map);
+        YamlEngine engine = takeEngine();
+        try {
+            return engine.yaml.dump(map);
+        } finally {
+            releaseEngine(engine);
+        }
     }
 
 }
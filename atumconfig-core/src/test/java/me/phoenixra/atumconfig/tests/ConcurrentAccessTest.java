@@ -0,0 +1,159 @@
+package me.phoenixra.atumconfig.tests;
+
+import me.phoenixra.atumconfig.api.ConfigManager;
+import me.phoenixra.atumconfig.api.config.Config;
+import me.phoenixra.atumconfig.core.AtumConfigManager;
+import me.phoenixra.atumconfig.tests.helpers.TestHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress tests for reading a config from many threads
+ * while another thread keeps writing to it.
+ */
+public class ConcurrentAccessTest {
+    private static final int READERS = 8;
+    private static final long DURATION_MS = 1_000;
+
+    @TempDir Path tmpRoot;
+    private ConfigManager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new AtumConfigManager("test", tmpRoot, true);
+    }
+
+    @Test
+    void testReadersDuringWrites() throws Exception {
+        Config cfg = manager.createConfig(TestHelper.CONFIG_TYPE, null);
+        cfg.set("stable.value", 42);
+        for (int i = 0; i < 50; i++) {
+            cfg.set("section.key" + i, i);
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newFixedThreadPool(READERS + 1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        futures.add(pool.submit(() -> {
+            int i = 0;
+            while (running.get()) {
+                cfg.set("section.key" + (i % 100), i);
+                cfg.set("counter", i);
+                if (i % 100 == 0) {
+                    cfg.set("section.key" + (i % 50), null);
+                }
+                i++;
+            }
+            return null;
+        }));
+        for (int r = 0; r < READERS; r++) {
+            futures.add(pool.submit(() -> {
+                while (running.get()) {
+                    assertEquals(42, cfg.getInt("stable.value"));
+                    List<String> keys = cfg.getKeys(true);
+                    assertTrue(keys.contains("stable.value"));
+                    for (String key : cfg.getSubsection("section").getKeys(false)) {
+                        assertTrue(key.startsWith("key"));
+                    }
+                    assertFalse(cfg.toPlaintext().isEmpty());
+                }
+                return null;
+            }));
+        }
+
+        Thread.sleep(DURATION_MS);
+        running.set(false);
+        pool.shutdown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        assertEquals(42, cfg.getInt("stable.value"));
+    }
+
+    @Test
+    void testReadersDuringApplyData() throws Exception {
+        Config cfg = manager.createConfig(TestHelper.CONFIG_TYPE, null);
+        Map<String, Object> first = new LinkedHashMap<>();
+        Map<String, Object> second = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            first.put("k" + i, 1);
+            second.put("k" + i, 2);
+        }
+        cfg.applyData(first);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newFixedThreadPool(READERS + 1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        futures.add(pool.submit(() -> {
+            boolean flip = false;
+            while (running.get()) {
+                cfg.applyData(flip ? first : second);
+                flip = !flip;
+            }
+            return null;
+        }));
+        for (int r = 0; r < READERS; r++) {
+            futures.add(pool.submit(() -> {
+                while (running.get()) {
+                    // every published map must be complete and keep key order
+                    List<String> keys = cfg.getKeys(false);
+                    assertEquals(100, keys.size());
+                    assertEquals("k0", keys.get(0));
+                    assertEquals("k99", keys.get(99));
+                    int value = cfg.getInt("k50");
+                    assertTrue(value == 1 || value == 2, "unexpected value " + value);
+                }
+                return null;
+            }));
+        }
+
+        Thread.sleep(DURATION_MS);
+        running.set(false);
+        pool.shutdown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void testConcurrentNestedWritersDoNotLoseSections() throws Exception {
+        Config cfg = manager.createConfig(TestHelper.CONFIG_TYPE, null);
+        int writers = 8;
+        int perWriter = 200;
+
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            final int writer = w;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perWriter; i++) {
+                    cfg.set("shared.w" + writer + ".k" + i, i);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        pool.shutdown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        for (int w = 0; w < writers; w++) {
+            for (int i = 0; i < perWriter; i++) {
+                assertEquals(i, cfg.getInt("shared.w" + w + ".k" + i));
+            }
+        }
+    }
+}
@@ -2,6 +2,9 @@ package me.phoenixra.atumconfig.tests;
 
 import me.phoenixra.atumconfig.api.ConfigManager;
 import me.phoenixra.atumconfig.api.config.ConfigFile;
+import me.phoenixra.atumconfig.api.config.ConfigFormat;
+import me.phoenixra.atumconfig.api.config.ConfigType;
+import me.phoenixra.atumconfig.api.config.catalog.CatalogCallbackOrder;
 import me.phoenixra.atumconfig.api.config.catalog.ConfigCatalog;
 import me.phoenixra.atumconfig.api.config.catalog.ConfigCatalogListener;
 import me.phoenixra.atumconfig.core.AtumConfigManager;
@@ -15,11 +18,15 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 
+import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -343,6 +350,270 @@ class ConfigCatalogTest {
         assertEquals(5_000, c.getConfigFilesMap().size());
     }
 
+    @Test
+    void testPerformanceLargeScaleParallel() throws IOException {
+        Path base = tmpRoot.resolve("catalog");
+        Files.createDirectories(base);
+        for (int i = 0; i < 5_000; i++) {
+            writeSimpleKeyValue(
+                    base.resolve("f" + i + TestHelper.FILE_EXT),
+                    "i", i
+            );
+        }
+
+        List<String> loaded = new ArrayList<>();
+        ConfigCatalog c = configManager.createCatalog(
+                TestHelper.CONFIG_TYPE, "cat", Paths.get("catalog"), false,
+                new SimpleListener(loaded, null)
+        );
+
+        long start = System.currentTimeMillis();
+        c.reload();
+        long sequential = System.currentTimeMillis() - start;
+
+        start = System.currentTimeMillis();
+        c.reload(Runtime.getRuntime().availableProcessors(), CatalogCallbackOrder.COMPLETION);
+        long parallel = System.currentTimeMillis() - start;
+
+        assertTrue(parallel < 2_500,
+                "parallel reload 5k took " + parallel + "ms (sequential " + sequential + "ms)");
+        assertEquals(5_000, loaded.size());
+        assertEquals(5_000, c.getConfigFilesMap().size());
+        assertEquals(1234, c.getConfigFile("f1234").get().getInt("i"));
+    }
+
+    @Test
+    void testParallelReloadCallbackOrder() throws IOException {
+        Path base = tmpRoot.resolve("catalog");
+        Files.createDirectories(base);
+        for (int i = 0; i < 50; i++) {
+            writeSimpleKeyValue(base.resolve("f" + i + TestHelper.FILE_EXT), "i", i);
+        }
+        writeInvalidFile(base.resolve("bad" + TestHelper.FILE_EXT));
+
+        List<String> loaded = new ArrayList<>();
+        List<Path> failed = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        ConfigCatalog c = configManager.createCatalog(
+                TestHelper.CONFIG_TYPE, "cat", Paths.get("catalog"), false,
+                new ConfigCatalogListener() {
+                    public void onClear(@NotNull ConfigCatalog catalog) { loaded.clear(); failed.clear(); }
+                    public void onConfigLoaded(@NotNull ConfigCatalog catalog, @NotNull ConfigFile cf) {
+                        loaded.add(cf.getId());
+                        threads.add(Thread.currentThread());
+                    }
+                    public void onConfigFailed(@NotNull ConfigCatalog catalog, Path configPath, Throwable e) {
+                        failed.add(configPath);
+                    }
+                }
+        );
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            c.reload(pool, CatalogCallbackOrder.SORTED);
+        } finally {
+            pool.shutdown();
+        }
+        List<String> sorted = new ArrayList<>(loaded);
+        Collections.sort(sorted);
+        assertEquals(sorted, loaded, "callbacks sorted by id");
+        assertEquals(50, loaded.size());
+        assertEquals(1, failed.size());
+        assertTrue(threads.stream().allMatch(t -> t == Thread.currentThread()),
+                "callbacks on the reloading thread");
+
+        c.reload(3, CatalogCallbackOrder.COMPLETION);
+        assertEquals(50, loaded.size());
+        assertEquals(new HashSet<>(sorted), new HashSet<>(loaded));
+        assertEquals(1, failed.size());
+        assertFalse(c.getConfigFile("bad").isPresent());
+    }
+
+    @Test
+    void testReloadIncrementalOnlyTouchesChanges() throws IOException {
+        Path base = tmpRoot.resolve("catalog");
+        Files.createDirectories(base);
+        writeSimpleKeyValue(base.resolve("a" + TestHelper.FILE_EXT), "x", 1);
+        writeSimpleKeyValue(base.resolve("b" + TestHelper.FILE_EXT), "x", 2);
+        writeSimpleKeyValue(base.resolve("keep" + TestHelper.FILE_EXT), "x", 3);
+
+        List<String> events = new ArrayList<>();
+        ConfigCatalog c = configManager.createCatalog(
+                TestHelper.CONFIG_TYPE, "cat", Paths.get("catalog"), false,
+                new ConfigCatalogListener() {
+                    public void onClear(@NotNull ConfigCatalog catalog) { events.add("clear"); }
+                    public void onConfigLoaded(@NotNull ConfigCatalog catalog, @NotNull ConfigFile cf) { events.add("load:" + cf.getId()); }
+                    public void onConfigChanged(@NotNull ConfigCatalog catalog, @NotNull ConfigFile cf) { events.add("change:" + cf.getId()); }
+                    public void onConfigRemoved(@NotNull ConfigCatalog catalog, @NotNull ConfigFile cf) { events.add("remove:" + cf.getId()); }
+                }
+        );
+        c.reload();
+        ConfigFile a = c.getConfigFile("a").get();
+        ConfigFile keep = c.getConfigFile("keep").get();
+
+        // change a (different size), delete b, add n
+        writeSimpleKeyValue(base.resolve("a" + TestHelper.FILE_EXT), "x", 100);
+        Files.delete(base.resolve("b" + TestHelper.FILE_EXT));
+        writeSimpleKeyValue(base.resolve("n" + TestHelper.FILE_EXT), "x", 4);
+
+        events.clear();
+        c.reloadIncremental();
+        assertEquals(new HashSet<>(Arrays.asList("change:a", "remove:b", "load:n")), new HashSet<>(events));
+        assertSame(a, c.getConfigFile("a").get(), "changed config reloaded in place");
+        assertEquals(100, a.getInt("x"));
+        assertSame(keep, c.getConfigFile("keep").get());
+        assertFalse(c.getConfigFile("b").isPresent());
+        assertEquals(4, c.getConfigFile("n").get().getInt("x"));
+
+        events.clear();
+        c.reloadIncremental();
+        assertTrue(events.isEmpty(), "nothing changed");
+
+        // with hashing, touching a file is not a change
+        c.setContentHashing(true);
+        c.reload();
+        Files.setLastModifiedTime(base.resolve("keep" + TestHelper.FILE_EXT),
+                FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+        events.clear();
+        c.reloadIncremental();
+        assertTrue(events.isEmpty(), "touched but unchanged");
+
+        // a broken edit keeps the previous values
+        writeInvalidFile(base.resolve("keep" + TestHelper.FILE_EXT));
+        c.reloadIncremental();
+        assertEquals(3, c.getConfigFile("keep").get().getInt("x"));
+    }
+
+    @Test
+    void testSnapshotsSkipParsingUnchangedFiles() throws IOException {
+        Path base = tmpRoot.resolve("catalog");
+        Files.createDirectories(base);
+        Path rich = base.resolve("rich" + TestHelper.FILE_EXT);
+        String content;
+        switch (TestHelper.CONFIG_TYPE) {
+            case JSON:
+                content = "{\"name\":\"Sword ✦\",\"dmg\":7.5,\"flags\":[true,\"a\"],\"nested\":{\"deep\":{\"n\":3}}}";
+                break;
+            case YAML:
+                content = "name: Sword ✦\ndmg: 7.5\nflags: [true, a]\nnested:\n  deep:\n    n: 3\n";
+                break;
+            default:
+                throw new IllegalStateException("unsupported: " + TestHelper.CONFIG_TYPE);
+        }
+        Files.write(rich, content.getBytes(StandardCharsets.UTF_8));
+        Path plain = base.resolve("plain" + TestHelper.FILE_EXT);
+        writeSimpleKeyValue(plain, "x", 1);
+
+        AtumConfigManager first = new AtumConfigManager("first", tmpRoot, true);
+        first.setSnapshotsEnabled(true);
+        ConfigCatalog parsed = first.createCatalog(
+                TestHelper.CONFIG_TYPE, "cat", Paths.get("catalog"), false, new SimpleListener(null, null)
+        );
+        parsed.reload();
+        assertNotNull(first.getSnapshotStore());
+        Path snapshots = first.getSnapshotStore().getFile();
+        assertTrue(Files.isRegularFile(snapshots));
+        assertFalse(snapshots.startsWith(tmpRoot), "stored next to the config directory");
+
+        try {
+            // same size and modification time, different content: only visible when parsed
+            FileTime mtime = Files.getLastModifiedTime(plain);
+            writeSimpleKeyValue(plain, "x", 2);
+            Files.setLastModifiedTime(plain, mtime);
+
+            AtumConfigManager second = new AtumConfigManager("second", tmpRoot, true);
+            second.setSnapshotFile(snapshots);
+            ConfigCatalog decoded = second.createCatalog(
+                    TestHelper.CONFIG_TYPE, "cat", Paths.get("catalog"), false, new SimpleListener(null, null)
+            );
+            decoded.reload();
+            assertEquals(1, decoded.getConfigFile("plain").get().getInt("x"), "decoded from the snapshot");
+            assertEquals(parsed.getConfigFile("rich").get().toPlaintext(), decoded.getConfigFile("rich").get().toPlaintext());
+            assertEquals(3, decoded.getConfigFile("rich").get().getInt("nested.deep.n"));
+            assertEquals("Sword ✦", decoded.getConfigFile("rich").get().getString("name"));
+
+            // a changed modification time invalidates the snapshot
+            Files.setLastModifiedTime(plain, FileTime.fromMillis(mtime.toMillis() + 5_000));
+            byte[] written = Files.readAllBytes(snapshots);
+            decoded.getConfigFile("plain").get().reload();
+            assertEquals(2, decoded.getConfigFile("plain").get().getInt("x"));
+            assertArrayEquals(written, Files.readAllBytes(snapshots), "single reloads do not rewrite the snapshots");
+            second.flushAll();
+            assertFalse(Arrays.equals(written, Files.readAllBytes(snapshots)));
+
+            // corrupt snapshots are ignored and written again
+            Files.write(snapshots, new byte[]{1, 2, 3});
+            AtumConfigManager third = new AtumConfigManager("third", tmpRoot, true);
+            third.setSnapshotFile(snapshots);
+            decoded = third.createCatalog(
+                    TestHelper.CONFIG_TYPE, "cat", Paths.get("catalog"), false, new SimpleListener(null, null)
+            );
+            decoded.reload();
+            assertEquals(2, decoded.getConfigFile("plain").get().getInt("x"));
+            assertTrue(Files.size(snapshots) > 3);
+            assertEquals(7.5, decoded.getConfigFile("rich").get().getDouble("dmg"));
+            decoded.reload();
+            assertEquals(7.5, decoded.getConfigFile("rich").get().getDouble("dmg"));
+        } finally {
+            Files.deleteIfExists(snapshots);
+        }
+    }
+
+    @Test
+    void testRegisteredFormatsJoinCatalogsOfTheirType() throws IOException {
+        ConfigFormat properties = new ConfigFormat() {
+            @Override
+            public @NotNull ConfigType getType() {
+                return TestHelper.CONFIG_TYPE;
+            }
+
+            @Override
+            public @NotNull Map<String, Object> read(byte[] content) {
+                Map<String, Object> values = new LinkedHashMap<>();
+                for (String line : new String(content, StandardCharsets.UTF_8).split("\n")) {
+                    int separator = line.indexOf('=');
+                    if (separator != -1) {
+                        values.put(line.substring(0, separator), line.substring(separator + 1));
+                    }
+                }
+                return values;
+            }
+
+            @Override
+            public byte[] write(@NotNull Map<String, Object> values) {
+                StringBuilder text = new StringBuilder();
+                values.forEach((key, value) -> text.append(key).append('=').append(value).append('\n'));
+                return text.toString().getBytes(StandardCharsets.UTF_8);
+            }
+        };
+        configManager.addConfigFormat("properties", properties);
+        assertSame(properties, configManager.getConfigFormat("properties").get());
+        assertEquals(TestHelper.CONFIG_TYPE, ConfigType.fromFile(new File("a.properties"), configManager));
+        assertNull(ConfigType.fromFile(new File("a.properties")));
+        assertThrows(IllegalArgumentException.class, () -> configManager.addConfigFormat(".properties", properties));
+
+        Path base = tmpRoot.resolve("catalog");
+        Files.createDirectories(base);
+        Path props = base.resolve("props.properties");
+        Files.write(props, "name=Sword\n".getBytes(StandardCharsets.UTF_8));
+        writeSimpleKeyValue(base.resolve("plain" + TestHelper.FILE_EXT), "x", 1);
+        Files.write(base.resolve("other.txt"), "name=ignored\n".getBytes(StandardCharsets.UTF_8));
+
+        ConfigCatalog c = configManager.createCatalog(
+                TestHelper.CONFIG_TYPE, "cat", Paths.get("catalog"), false, new SimpleListener(null, null)
+        );
+        c.reload();
+        assertEquals(new HashSet<>(Arrays.asList("props", "plain")), c.getConfigFilesMap().keySet());
+        assertEquals(1, c.getConfigFile("plain").get().getInt("x"));
+
+        ConfigFile file = c.getConfigFile("props").get();
+        assertEquals("Sword", file.getString("name"));
+        file.set("level", 3);
+        file.save();
+        assertEquals("name=Sword\nlevel=3\n", new String(Files.readAllBytes(props), StandardCharsets.UTF_8));
+        assertEquals("name=Sword\nlevel=3\n", file.toPlaintext());
+    }
+
     //───────────────────────────────────────────────────────────
     //  Helpers & Listener
     //───────────────────────────────────────────────────────────
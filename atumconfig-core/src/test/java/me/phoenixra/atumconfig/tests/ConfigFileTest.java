@@ -7,6 +7,9 @@ import me.phoenixra.atumconfig.api.config.ConfigFile;
 
 import me.phoenixra.atumconfig.api.config.ConfigType;
 import me.phoenixra.atumconfig.core.AtumConfigManager;
+import me.phoenixra.atumconfig.core.config.AtumConfigFile;
+import me.phoenixra.atumconfig.core.config.typehandlers.ConfigTypeHandler;
+import me.phoenixra.atumconfig.core.config.typehandlers.ConfigTypeHandlers;
 
 import me.phoenixra.atumconfig.tests.helpers.TestHelper;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,11 +17,25 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 import static me.phoenixra.atumconfig.tests.helpers.TestHelper.CONFIG_TYPE;
 import static org.junit.jupiter.api.Assertions.*;
@@ -145,6 +162,264 @@ public class ConfigFileTest {
         }
     }
 
+    @Test
+    void testSaveIsAtomicForConcurrentReloads() throws Exception {
+        ((AtumConfigManager) configManager).setSyncOnSave(true);
+        ConfigFile writer = configManager.createConfigFile(
+                CONFIG_TYPE,
+                "atomic",
+                Paths.get("atomic" + TestHelper.FILE_EXT)
+        );
+        writer.set("x", 0);
+        writer.save();
+
+        ConfigFile reader = configManager.createConfigFile(
+                CONFIG_TYPE,
+                "atomic_reader",
+                Paths.get("atomic" + TestHelper.FILE_EXT)
+        );
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread readerThread = new Thread(() -> {
+            try {
+                while (!done.get()) {
+                    reader.reload();
+                    assertTrue(reader.hasPath("x"), "reload saw a partial file");
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        readerThread.start();
+        for (int i = 1; i <= 50; i++) {
+            writer.set("x", i);
+            writer.save();
+        }
+        done.set(true);
+        readerThread.join();
+        assertNull(failure.get());
+
+        try (Stream<Path> files = Files.list(tmpRoot)) {
+            assertEquals(1, files.count(), "temporary files are removed");
+        }
+    }
+
+    @Test
+    void testSaveKeepsFilePermissions() throws IOException {
+        ConfigFile cfg = configManager.createConfigFile(
+                CONFIG_TYPE,
+                "shared",
+                Paths.get("shared" + TestHelper.FILE_EXT)
+        );
+        Path path = cfg.getFile().toPath();
+        if (Files.getFileAttributeView(path, PosixFileAttributeView.class) == null) {
+            return;
+        }
+        Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-rw-r--");
+        Files.setPosixFilePermissions(path, permissions);
+
+        cfg.set("x", 1);
+        cfg.save();
+        cfg.reload();
+        assertEquals(1, cfg.getInt("x"));
+        assertEquals(permissions, Files.getPosixFilePermissions(path));
+    }
+
+    @Test
+    void testSaveWritesThroughSymbolicLinks() throws IOException {
+        Path shared = tmpRoot.resolve("deployed").resolve("shared" + TestHelper.FILE_EXT);
+        Files.createDirectories(shared.getParent());
+        writeSimpleKeyValue(shared, "x", 1);
+        Path link = tmpRoot.resolve("linked" + TestHelper.FILE_EXT);
+        try {
+            Files.createSymbolicLink(link, shared);
+        } catch (UnsupportedOperationException | IOException e) {
+            // no symbolic links on this file system
+            return;
+        }
+        ConfigFile cfg = configManager.createConfigFile(
+                CONFIG_TYPE,
+                "linked",
+                Paths.get("linked" + TestHelper.FILE_EXT)
+        );
+        assertEquals(1, cfg.getInt("x"));
+
+        cfg.set("x", 2);
+        cfg.save();
+        assertTrue(Files.isSymbolicLink(link), "the link is kept");
+        assertEquals(shared, Files.readSymbolicLink(link));
+        assertEquals(2, configManager.createConfigFromString(CONFIG_TYPE,
+                new String(Files.readAllBytes(shared), StandardCharsets.UTF_8)).getInt("x"));
+        try (Stream<Path> files = Files.list(shared.getParent())) {
+            assertEquals(1, files.count(), "no temporary file left");
+        }
+    }
+
+    @Test
+    void testWriteBehindCoalescesSaves() throws Exception {
+        AtumConfigManager manager = (AtumConfigManager) configManager;
+        manager.setWriteBehindMillis(200);
+        ConfigFile cf = configManager.createConfigFile(
+                CONFIG_TYPE,
+                "behind",
+                Paths.get("behind" + TestHelper.FILE_EXT)
+        );
+        cf.setWriteBehind(true);
+        assertTrue(cf.isWriteBehind());
+        Path file = cf.getFile().toPath();
+        String initial = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+
+        for (int i = 1; i <= 100; i++) {
+            cf.set("x", i);
+            cf.save();
+        }
+        assertEquals(initial, new String(Files.readAllBytes(file), StandardCharsets.UTF_8),
+                "nothing written on the calling thread");
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (readX(file) != 100) {
+            assertTrue(System.currentTimeMillis() < deadline, "write-behind did not run");
+            Thread.sleep(20);
+        }
+
+        cf.set("x", 101);
+        configManager.flushAll();
+        assertEquals(101, readX(file), "flushAll writes immediately");
+
+        cf.set("x", 102);
+        configManager.shutdown();
+        assertEquals(102, readX(file), "shutdown writes pending changes");
+        cf.set("x", 103);
+        cf.save();
+        assertEquals(103, readX(file), "written on the calling thread after shutdown");
+    }
+
+    private int readX(Path file) throws IOException {
+        ConfigFile copy = configManager.createConfigFile(
+                CONFIG_TYPE, "behind_reader", tmpRoot.relativize(file)
+        );
+        return copy.getInt("x");
+    }
+
+    @Test
+    void testSaveSkipsUnchangedFiles() throws Exception {
+        Path changed = tmpRoot.resolve("changed" + TestHelper.FILE_EXT);
+        Path unchanged = tmpRoot.resolve("unchanged" + TestHelper.FILE_EXT);
+        writeSimpleKeyValue(changed, "a", 1);
+        writeSimpleKeyValue(unchanged, "a", 1);
+        AtumConfigFile changedCf = (AtumConfigFile) configManager.createConfigFile(
+                CONFIG_TYPE, "changed", Paths.get("changed" + TestHelper.FILE_EXT)
+        );
+        AtumConfigFile unchangedCf = (AtumConfigFile) configManager.createConfigFile(
+                CONFIG_TYPE, "unchanged", Paths.get("unchanged" + TestHelper.FILE_EXT)
+        );
+        assertFalse(changedCf.isDirty());
+
+        // marker edits show whether a file was rewritten
+        writeSimpleKeyValue(changed, "a", 5);
+        writeSimpleKeyValue(unchanged, "a", 5);
+        changedCf.set("b", 2);
+        assertTrue(changedCf.isDirty());
+        configManager.saveAll();
+        assertFalse(changedCf.isDirty());
+        assertEquals(5, ((AtumConfigFile) configManager.createConfigFile(
+                CONFIG_TYPE, "unchanged_check", Paths.get("unchanged" + TestHelper.FILE_EXT)
+        )).getInt("a"), "clean file not rewritten");
+        assertEquals(1, ((AtumConfigFile) configManager.createConfigFile(
+                CONFIG_TYPE, "changed_check", Paths.get("changed" + TestHelper.FILE_EXT)
+        )).getInt("a"), "dirty file rewritten");
+
+        // changes reverted before saving serialize to the saved content
+        changedCf.reload();
+        changedCf.set("b", 3);
+        changedCf.set("b", 2);
+        FileTime before = Files.getLastModifiedTime(changed);
+        Thread.sleep(20);
+        changedCf.save();
+        assertFalse(changedCf.isDirty());
+        assertEquals(before, Files.getLastModifiedTime(changed), "same content not rewritten");
+    }
+
+    @Test
+    void testBinaryFilesRoundTrip() throws IOException {
+        ConfigFile text = configManager.createConfigFile(
+                CONFIG_TYPE, "text", Paths.get("text" + TestHelper.FILE_EXT)
+        );
+        ConfigFile binary = configManager.createConfigFile(
+                ConfigType.BINARY, "binary", Paths.get("binary.bin")
+        );
+        for (ConfigFile config : Arrays.asList(text, binary)) {
+            for (int i = 0; i < 20; i++) {
+                config.set("players.player" + i + ".name", "Player " + i);
+                config.set("players.player" + i + ".level", i * 1000);
+                config.set("players.player" + i + ".balance", i * 10.5);
+                config.set("players.player" + i + ".online", i % 2 == 0);
+                config.set("players.player" + i + ".friends", Arrays.asList("a" + i, "b" + i));
+            }
+            config.set("big", new BigInteger("123456789012345678901234567890"));
+            config.set("negative", -5_000_000_000L);
+            config.save();
+        }
+        long textSize = Files.size(tmpRoot.resolve("text" + TestHelper.FILE_EXT));
+        long binarySize = Files.size(tmpRoot.resolve("binary.bin"));
+        assertTrue(binarySize < textSize,
+                "binary file (" + binarySize + " bytes) should be smaller than text (" + textSize + ")");
+
+        ConfigFile loaded = new AtumConfigManager("other", tmpRoot, true).createConfigFile(
+                ConfigType.BINARY, "binary", Paths.get("binary.bin")
+        );
+        assertEquals("Player 7", loaded.getString("players.player7.name"));
+        assertEquals(7000, loaded.getInt("players.player7.level"));
+        assertEquals(73.5, loaded.getDouble("players.player7.balance"));
+        assertFalse(loaded.getBool("players.player7.online"));
+        assertEquals(Arrays.asList("a7", "b7"), loaded.getStringList("players.player7.friends"));
+        assertEquals(new BigInteger("123456789012345678901234567890"), loaded.get("big"));
+        assertEquals(-5_000_000_000L, loaded.getLong("negative"));
+
+        // the text form is Base64 of the file content
+        Config copy = configManager.createConfigFromString(ConfigType.BINARY, loaded.toPlaintext());
+        assertEquals(loaded.toPlaintext(), copy.toPlaintext());
+        assertEquals(
+                Base64.getEncoder().encodeToString(Files.readAllBytes(tmpRoot.resolve("binary.bin"))),
+                copy.toPlaintext()
+        );
+    }
+
+    @Test
+    void testRegisteredTypeHandlerIsUsed() throws IOException {
+        ConfigTypeHandler builtIn = ConfigTypeHandlers.HANDLERS.get(CONFIG_TYPE);
+        AtomicInteger loads = new AtomicInteger();
+        ((AtumConfigManager) configManager).addTypeHandler(new ConfigTypeHandler(CONFIG_TYPE) {
+            @Override
+            public Map<String, Object> load(ConfigManager configOwner, Reader input) {
+                loads.incrementAndGet();
+                return builtIn.load(configOwner, input);
+            }
+
+            @Override
+            protected Map<String, Object> parseToMap(String input) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public String toString(Map<String, Object> map) {
+                return builtIn.toString(map);
+            }
+        });
+        writeSimpleKeyValue(tmpRoot.resolve("custom" + TestHelper.FILE_EXT), "val", 3);
+        ConfigFile config = configManager.createConfigFile(
+                CONFIG_TYPE, "custom", Paths.get("custom" + TestHelper.FILE_EXT)
+        );
+        assertEquals(3, config.getInt("val"));
+        assertEquals(1, loads.get());
+
+        // other managers keep the built-in handler
+        new AtumConfigManager("other", tmpRoot, true).createConfigFile(
+                CONFIG_TYPE, "custom", Paths.get("custom" + TestHelper.FILE_EXT)
+        );
+        assertEquals(1, loads.get());
+    }
+
     @Test
     void testKeyRemovalPersists() throws IOException {
         ConfigFile cf = configManager.createConfigFile(
@@ -3,12 +3,16 @@ package me.phoenixra.atumconfig.tests;
 import me.phoenixra.atumconfig.api.ConfigManager;
 import me.phoenixra.atumconfig.api.config.Config;
 import me.phoenixra.atumconfig.api.config.ConfigFile;
+import me.phoenixra.atumconfig.api.config.ConfigParser;
 
 import me.phoenixra.atumconfig.api.config.ConfigType;
+import me.phoenixra.atumconfig.api.config.parsers.BoundConfigParser;
+import me.phoenixra.atumconfig.api.config.parsers.ConfigKey;
 import me.phoenixra.atumconfig.api.config.parsers.ConfigParserExample;
 import me.phoenixra.atumconfig.api.config.parsers.ExampleParseObj;
 import me.phoenixra.atumconfig.core.AtumConfigManager;
 import me.phoenixra.atumconfig.tests.helpers.TestHelper;
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -19,7 +23,9 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -293,4 +299,150 @@ public class ConfigParserTest {
         assertEquals(1, list.size(), "invalid entries should be filtered out");
         assertEquals(new ExampleParseObj("a", true, 1), list.get(0));
     }
+
+    @Test
+    void getParsedOrNull_sharesImmutableResultsUntilModified() {
+        AtomicInteger parses = new AtomicInteger();
+        ConfigParserExample delegate = new ConfigParserExample();
+        manager.addConfigParser(new ConfigParser<ExampleParseObj>() {
+            @Override
+            public Config toConfig(Object value, Config emptyConfig) {
+                return delegate.toConfig(value, emptyConfig);
+            }
+
+            @Override
+            public ExampleParseObj fromConfig(Config config) {
+                parses.incrementAndGet();
+                return delegate.fromConfig(config);
+            }
+
+            @Override
+            public @NotNull Class<ExampleParseObj> getClassParsed() {
+                return ExampleParseObj.class;
+            }
+
+            @Override
+            public boolean isResultImmutable() {
+                return true;
+            }
+        });
+        Config cfg = manager.createConfig(TestHelper.CONFIG_TYPE, null);
+        cfg.set("reward", new ExampleParseObj("a", true, 1));
+        cfg.set("rewards", Arrays.asList(new ExampleParseObj("b", false, 2), new ExampleParseObj("c", true, 3)));
+
+        ExampleParseObj first = cfg.getParsedOrNull("reward", ExampleParseObj.class);
+        assertSame(first, cfg.getParsedOrNull("reward", ExampleParseObj.class));
+        assertEquals(1, parses.get());
+
+        List<ExampleParseObj> list = cfg.getParsedListOrNull("rewards", ExampleParseObj.class);
+        assertNotNull(list);
+        assertSame(list.get(1), cfg.getParsedListOrNull("rewards", ExampleParseObj.class).get(1));
+        assertEquals(3, parses.get());
+
+        // modifying the section parses it again
+        cfg.set("reward.value", 5);
+        ExampleParseObj modified = cfg.getParsedOrNull("reward", ExampleParseObj.class);
+        assertEquals(new ExampleParseObj("a", true, 5), modified);
+        assertNotSame(first, modified);
+        assertEquals(4, parses.get());
+    }
+
+    @Test
+    void getParsedOrNull_parsesMutableResultsEveryTime() {
+        Config cfg = manager.createConfig(TestHelper.CONFIG_TYPE, null);
+        cfg.set("reward", new ExampleParseObj("a", true, 1));
+        ExampleParseObj first = cfg.getParsedOrNull("reward", ExampleParseObj.class);
+        ExampleParseObj second = cfg.getParsedOrNull("reward", ExampleParseObj.class);
+        assertEquals(first, second);
+        assertNotSame(first, second);
+    }
+
+    public static class SpecialParseObj extends ExampleParseObj {
+        public SpecialParseObj(String id, boolean test, int value) {
+            super(id, test, value);
+        }
+    }
+
+    @Test
+    void set_usesParserOfSupertype() {
+        ConfigManager fresh = new AtumConfigManager("fresh", tmpRoot, true);
+        Config cfg = fresh.createConfig(TestHelper.CONFIG_TYPE, null);
+        cfg.set("obj", new SpecialParseObj("a", true, 1));
+        assertNull(cfg.getSubsectionOrNull("obj"), "stored as is without a parser");
+
+        // registering a parser invalidates the resolved "no parser"
+        fresh.addConfigParser(new ConfigParserExample());
+        cfg.set("obj", new SpecialParseObj("a", true, 1));
+        assertNotNull(cfg.getSubsectionOrNull("obj"), "serialized by the parser of the superclass");
+        assertEquals(new ExampleParseObj("a", true, 1), cfg.getParsedOrNull("obj", ExampleParseObj.class));
+        assertFalse(fresh.getConfigParser(SpecialParseObj.class).isPresent(), "exact lookups stay exact");
+    }
+
+    public enum Rarity { COMMON, RARE }
+
+    public static class BoundItem {
+        private @ConfigKey String id;
+        private @ConfigKey("stats.damage") int damage;
+        private @ConfigKey("stats.speed") double speed;
+        private @ConfigKey Rarity rarity;
+        private @ConfigKey List<String> lore;
+        private @ConfigKey(optional = true) boolean enabled = true;
+        private @ConfigKey(value = "example", optional = true) ExampleParseObj example;
+    }
+
+    @Test
+    void boundParser_bindsAnnotatedFields() {
+        manager.addConfigParser(BoundConfigParser.of(BoundItem.class));
+        String raw = isJson()
+                ? "{ \"item\": { \"id\": \"sword\", \"rarity\": \"RARE\","
+                + " \"stats\": { \"damage\": 7, \"speed\": 1.5 },"
+                + " \"lore\": [\"sharp\", \"old\"],"
+                + " \"example\": { \"id\": \"a\", \"test\": true, \"value\": 1 } } }"
+                : "item:\n" +
+                "  id: sword\n" +
+                "  rarity: RARE\n" +
+                "  stats:\n" +
+                "    damage: 7\n" +
+                "    speed: 1.5\n" +
+                "  lore:\n" +
+                "    - sharp\n" +
+                "    - old\n" +
+                "  example:\n" +
+                "    id: a\n" +
+                "    test: true\n" +
+                "    value: 1\n";
+        Config cfg = manager.createConfigFromString(TestHelper.CONFIG_TYPE, raw);
+
+        BoundItem item = cfg.getParsedOrNull("item", BoundItem.class);
+        assertNotNull(item);
+        assertEquals("sword", item.id);
+        assertEquals(7, item.damage);
+        assertEquals(1.5, item.speed);
+        assertEquals(Rarity.RARE, item.rarity);
+        assertEquals(Arrays.asList("sharp", "old"), item.lore);
+        assertTrue(item.enabled, "missing optional value keeps the initial value");
+        assertEquals(new ExampleParseObj("a", true, 1), item.example);
+
+        // written back through the same bindings
+        item.enabled = false;
+        Config written = manager.createConfig(TestHelper.CONFIG_TYPE, null);
+        written.set("item", item);
+        BoundItem copy = written.getParsedOrNull("item", BoundItem.class);
+        assertNotNull(copy);
+        assertEquals("RARE", written.getString("item.rarity"));
+        assertEquals(7, written.getInt("item.stats.damage"));
+        assertFalse(copy.enabled);
+        assertEquals(new ExampleParseObj("a", true, 1), copy.example);
+
+        // a missing required value or a value of the wrong type fails the whole object
+        cfg.set("item.stats.damage", null);
+        assertNull(cfg.getParsedOrNull("item", BoundItem.class));
+        cfg.set("item.stats.damage", "lots");
+        assertNull(cfg.getParsedOrNull("item", BoundItem.class));
+    }
+
+    @Test
+    void boundParser_rejectsUnboundableClasses() {
+        assertThrows(IllegalArgumentException.class, () -> BoundConfigParser.of(ExampleParseObj.class));
+    }
 }
@@ -2,6 +2,8 @@ package me.phoenixra.atumconfig.tests;
 
 import me.phoenixra.atumconfig.api.ConfigManager;
 import me.phoenixra.atumconfig.api.config.Config;
+import me.phoenixra.atumconfig.api.config.ConfigPath;
+import me.phoenixra.atumconfig.api.config.ConfigType;
 import me.phoenixra.atumconfig.core.AtumConfigManager;
 import me.phoenixra.atumconfig.tests.helpers.TestHelper;
 import org.junit.jupiter.api.BeforeEach;
@@ -80,6 +82,168 @@ public class ConfigTest {
         assertEquals(Collections.emptyList(), cfg.getStringList("noList"));
     }
 
+    @Test
+    void testPrimitiveArrayGetters() {
+        String raw = getTypeSafeRaw();
+        Config cfg = cm.createConfigFromString(TestHelper.CONFIG_TYPE, raw);
+
+        assertArrayEquals(new int[]{1, 2, 3},          cfg.getIntArray("list"));
+        assertArrayEquals(new long[]{1L, 2L, 3L},      cfg.getLongArray("list"));
+        assertArrayEquals(new double[]{1.0, 2.0, 3.0}, cfg.getDoubleArray("list"));
+
+        // missing or non-numeric lists
+        assertNull(cfg.getIntArrayOrNull("missing"));
+        assertEquals(0, cfg.getDoubleArray("missing").length);
+        cfg.set("mixed", Arrays.asList(1, "two"));
+        assertNull(cfg.getLongArrayOrNull("mixed"));
+        assertNull(cfg.getIntListOrNull("mixed"));
+        assertEquals(Arrays.asList("1", "two"), cfg.getStringList("mixed"));
+
+        // primitive defaults on wrong types
+        assertEquals(5,    cfg.getIntOrDefault("flag", 5));
+        assertEquals(2.5,  cfg.getDoubleOrDefault("missing.deep", 2.5));
+        assertTrue(cfg.getBoolOrDefault("i", true));
+    }
+
+    @Test
+    void testListViewsAreCachedUntilChanged() {
+        Config cfg = cm.createConfig(TestHelper.CONFIG_TYPE, null);
+        cfg.set("a.list", Arrays.asList(1, 2, 3));
+
+        List<Integer> first = cfg.getIntList("a.list");
+        assertSame(first, cfg.getIntList("a.list"));
+        assertThrows(UnsupportedOperationException.class, () -> first.add(4));
+        assertEquals(Arrays.asList("1", "2", "3"), cfg.getStringList("a.list"));
+
+        cfg.set("a.list", Arrays.asList(4, 5));
+        assertEquals(Arrays.asList(4, 5), cfg.getIntList("a.list"));
+
+        // replacing an ancestor through a subsection reference
+        cfg.getSubsection("a").set("list", Collections.singletonList(6));
+        assertEquals(Collections.singletonList(6), cfg.getIntList("a.list"));
+
+        cfg.applyData(Collections.singletonMap("a.list", Arrays.asList(7, 8)));
+        assertEquals(Arrays.asList(7, 8), cfg.getIntList("a.list"));
+        assertEquals(Arrays.asList(7L, 8L), cfg.getLongList("a.list"));
+    }
+
+    @Test
+    void testParsedPathGetters() {
+        Config cfg = cm.createConfig(TestHelper.CONFIG_TYPE, null);
+        ConfigPath deep = ConfigPath.parse("a.b.c");
+        cfg.set(deep, 5);
+        cfg.set("a.b.name", "foo");
+
+        assertEquals(5,     cfg.getInt(deep));
+        assertEquals(5,     cfg.getInt("a.b.c"));
+        assertEquals("foo", cfg.getString(ConfigPath.of("a.b.name")));
+        assertTrue(cfg.hasPath(ConfigPath.of("a.b")));
+        assertNotNull(cfg.getSubsectionOrNull(ConfigPath.of("a.b")));
+        assertEquals(9,     cfg.getIntOrDefault(ConfigPath.of("a.missing"), 9));
+        assertNull(cfg.get(ConfigPath.of("a.b.")));
+
+        ConfigPath sub = deep.subPath(1);
+        assertEquals("b.c", sub.toString());
+        assertEquals(5,     cfg.getSubsection("a").getInt(sub));
+        assertSame(ConfigPath.of("x.y"), ConfigPath.of("x.y"));
+    }
+
+    @Test
+    void testPathIndexFollowsNestedChanges() {
+        ((AtumConfigManager) cm).setPathIndexEnabled(true);
+        Config cfg = cm.createConfig(TestHelper.CONFIG_TYPE, null);
+        cfg.set("a.b.c", 1);
+        // repeated reads without changes build the index
+        for (int i = 0; i < 3; i++) {
+            assertEquals(1, cfg.getInt("a.b.c"));
+        }
+
+        // writing through a subsection must invalidate the root index
+        Config b = cfg.getSubsection("a.b");
+        b.set("c", 2);
+        b.set("d", 3);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(2, cfg.getInt("a.b.c"));
+            assertEquals(3, cfg.getInt("a.b.d"));
+        }
+        assertEquals(new HashSet<>(Arrays.asList("a", "a.b", "a.b.c", "a.b.d")),
+                new HashSet<>(cfg.getKeys(true)));
+
+        cfg.applyData(Collections.singletonMap("x.y", 4));
+        for (int i = 0; i < 3; i++) {
+            assertFalse(cfg.hasPath("a.b.c"));
+            assertEquals(4, cfg.getInt("x.y"));
+        }
+
+        // a section stored in another config is copied, not shared
+        Config other = cm.createConfig(TestHelper.CONFIG_TYPE, null);
+        other.set("moved", cfg.getSubsection("x"));
+        other.getSubsection("moved").set("y", 5);
+        assertEquals(4, cfg.getInt("x.y"));
+        assertEquals(5, other.getInt("moved.y"));
+
+        ((AtumConfigManager) cm).setPathIndexEnabled(false);
+        assertEquals(4, cfg.getInt("x.y"));
+        assertEquals(new HashSet<>(Arrays.asList("x", "x.y")), new HashSet<>(cfg.getKeys(true)));
+    }
+
+    @Test
+    void testNestedStructuresLoad() {
+        Config cfg = cm.createConfigFromString(TestHelper.CONFIG_TYPE, getNestedRaw());
+
+        assertEquals("v",  cfg.getString("a.b.c"));
+        assertEquals(2,    cfg.getInt("a.dotted.key"));
+        assertFalse(cfg.hasPath("a.gone"));
+        List<? extends Config> items = cfg.getSubsectionList("items");
+        assertEquals(2,    items.size());
+        assertEquals("x",  items.get(1).getString("name"));
+        assertEquals(Arrays.asList("s", "true"), cfg.getStringList("mixed"));
+        if (TestHelper.CONFIG_TYPE == ConfigType.YAML) {
+            // anchors and merge keys
+            assertEquals(1, cfg.getInt("merged.x"));
+            assertEquals(3, cfg.getInt("merged.y"));
+            assertEquals(2, cfg.getInt("base.y"));
+        }
+        // reading the plaintext back yields the same structure
+        Config copy = cm.createConfigFromString(TestHelper.CONFIG_TYPE, cfg.toPlaintext());
+        assertEquals(new HashSet<>(cfg.getKeys(true)), new HashSet<>(copy.getKeys(true)));
+    }
+
+    @Test
+    void testYamlLoaderLimits() {
+        if (TestHelper.CONFIG_TYPE != ConfigType.YAML) {
+            return;
+        }
+        // 9 levels of 10 aliases each would expand to 10^9 values
+        StringBuilder laughs = new StringBuilder("l0: &l0 [lol, lol, lol, lol, lol, lol, lol, lol, lol, lol]\n");
+        for (int level = 1; level < 10; level++) {
+            laughs.append("l").append(level).append(": &l").append(level).append(" [");
+            for (int i = 0; i < 10; i++) {
+                laughs.append(i == 0 ? "" : ", ").append("*l").append(level - 1);
+            }
+            laughs.append("]\n");
+        }
+        assertThrows(RuntimeException.class, () ->
+                cm.createConfigFromString(TestHelper.CONFIG_TYPE, laughs.toString())
+        );
+
+        StringBuilder nested = new StringBuilder("deep: ");
+        for (int i = 0; i < 10_000; i++) {
+            nested.append('[');
+        }
+        for (int i = 0; i < 10_000; i++) {
+            nested.append(']');
+        }
+        assertThrows(RuntimeException.class, () ->
+                cm.createConfigFromString(TestHelper.CONFIG_TYPE, nested.toString())
+        );
+
+        // within the limits aliases still load
+        Config cfg = cm.createConfigFromString(TestHelper.CONFIG_TYPE,
+                "base: &base [1, 2]\ncopy: *base\nnested: [[[1]]]\n");
+        assertEquals(Arrays.asList(1, 2), cfg.getIntList("copy"));
+    }
+
     //――――――――――――――――――――――――――――――――――――――――――――――
     // helpers
     //――――――――――――――――――――――――――――――――――――――――――――――
@@ -95,6 +259,35 @@ public class ConfigTest {
         }
     }
 
+    private static String getNestedRaw() {
+        switch (TestHelper.CONFIG_TYPE) {
+            case JSON:
+                return "{\n"
+                        + "  \"a\": {\"b\": {\"c\": \"v\"}, \"dotted.key\": 2, \"gone\": null},\n"
+                        + "  \"items\": [{\"name\": \"w\"}, {\"name\": \"x\"}],\n"
+                        + "  \"mixed\": [\"s\", true]\n"
+                        + "}\n";
+            case YAML:
+                return "a:\n"
+                        + "  b:\n"
+                        + "    c: v\n"
+                        + "  dotted.key: 2\n"
+                        + "  gone: ~\n"
+                        + "items:\n"
+                        + "  - name: w\n"
+                        + "  - name: x\n"
+                        + "mixed: [s, true]\n"
+                        + "base: &base\n"
+                        + "  x: 1\n"
+                        + "  y: 2\n"
+                        + "merged:\n"
+                        + "  <<: *base\n"
+                        + "  y: 3\n";
+            default:
+                throw new IllegalStateException("Unsupported: " + TestHelper.CONFIG_TYPE);
+        }
+    }
+
     private static String getTypeSafeRaw() {
         String raw;
         switch (TestHelper.CONFIG_TYPE) {
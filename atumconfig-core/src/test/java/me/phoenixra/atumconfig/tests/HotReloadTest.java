@@ -0,0 +1,175 @@
+package me.phoenixra.atumconfig.tests;
+
+import me.phoenixra.atumconfig.api.ConfigManager;
+import me.phoenixra.atumconfig.api.config.ConfigFile;
+import me.phoenixra.atumconfig.api.config.catalog.ConfigCatalog;
+import me.phoenixra.atumconfig.api.config.catalog.ConfigCatalogListener;
+import me.phoenixra.atumconfig.core.AtumConfigManager;
+import me.phoenixra.atumconfig.tests.helpers.TestHelper;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for reloading configs on changes on disk.
+ */
+public class HotReloadTest {
+    /**
+     * Polling watch services, e.g. on macOS, report changes only every few seconds.
+     */
+    private static final long TIMEOUT_MS = 60_000;
+
+    @TempDir Path tmpRoot;
+    private ConfigManager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new AtumConfigManager("test", tmpRoot, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.stopWatching();
+    }
+
+    @Test
+    void testConfigFileReloadsOnChange() throws Exception {
+        ConfigFile file = manager.createConfigFile(
+                TestHelper.CONFIG_TYPE, "watched", Paths.get("watched" + TestHelper.FILE_EXT)
+        );
+        manager.startWatching(50);
+        assertTrue(manager.isWatching());
+
+        // written twice in a row, like some editors do
+        writeValue(file.getFile().toPath(), 1);
+        writeValue(file.getFile().toPath(), 2);
+        awaitTrue(() -> file.getInt("x") == 2);
+
+        manager.stopWatching();
+        assertFalse(manager.isWatching());
+
+        // another manager watching the same file shows when the change was processed
+        ConfigManager other = new AtumConfigManager("other", tmpRoot, true);
+        ConfigFile otherFile = other.createConfigFile(
+                TestHelper.CONFIG_TYPE, "watched", Paths.get("watched" + TestHelper.FILE_EXT)
+        );
+        other.startWatching(50);
+        try {
+            writeValue(file.getFile().toPath(), 3);
+            awaitTrue(() -> otherFile.getInt("x") == 3);
+        } finally {
+            other.stopWatching();
+        }
+        assertEquals(2, file.getInt("x"), "no reloads after stopping");
+    }
+
+    @Test
+    void testOwnSaveDoesNotOverwriteUnsavedChanges() throws Exception {
+        ConfigFile file = manager.createConfigFile(
+                TestHelper.CONFIG_TYPE, "watched", Paths.get("watched" + TestHelper.FILE_EXT)
+        );
+        ConfigFile marker = manager.createConfigFile(
+                TestHelper.CONFIG_TYPE, "marker", Paths.get("marker" + TestHelper.FILE_EXT)
+        );
+        manager.startWatching(50);
+
+        file.set("x", 1);
+        file.save();
+        file.set("x", 2);
+        awaitReloaded(marker, 1);
+        assertEquals(2, file.getInt("x"), "change made after the save survives its file event");
+
+        // a change on disk does not overwrite unsaved values either
+        writeValue(file.getFile().toPath(), 3);
+        awaitReloaded(marker, 2);
+        assertEquals(2, file.getInt("x"));
+
+        file.save();
+        writeValue(file.getFile().toPath(), 4);
+        awaitTrue(() -> file.getInt("x") == 4);
+    }
+
+    @Test
+    void testCatalogReloadsOnlyChangedEntries() throws Exception {
+        Path base = tmpRoot.resolve("catalog");
+        Files.createDirectories(base);
+        writeValue(base.resolve("a" + TestHelper.FILE_EXT), 1);
+        writeValue(base.resolve("b" + TestHelper.FILE_EXT), 1);
+
+        List<String> events = new CopyOnWriteArrayList<>();
+        ConfigCatalog catalog = manager.createCatalog(
+                TestHelper.CONFIG_TYPE, "cat", Paths.get("catalog"), false,
+                new ConfigCatalogListener() {
+                    public void onClear(@NotNull ConfigCatalog c) { events.add("clear"); }
+                    public void onConfigLoaded(@NotNull ConfigCatalog c, @NotNull ConfigFile cf) { events.add("load:" + cf.getId()); }
+                    public void onConfigChanged(@NotNull ConfigCatalog c, @NotNull ConfigFile cf) { events.add("change:" + cf.getId()); }
+                    public void onConfigRemoved(@NotNull ConfigCatalog c, @NotNull ConfigFile cf) { events.add("remove:" + cf.getId()); }
+                }
+        );
+        catalog.reload();
+        events.clear();
+        manager.startWatching(50);
+
+        writeValue(base.resolve("a" + TestHelper.FILE_EXT), 100);
+        writeValue(base.resolve("c" + TestHelper.FILE_EXT), 5);
+        awaitTrue(() -> events.contains("change:a") && events.contains("load:c"));
+        assertEquals(100, catalog.getConfigFile("a").get().getInt("x"));
+        assertFalse(events.contains("change:b"));
+        assertFalse(events.contains("clear"), "reloaded incrementally");
+
+        Files.delete(base.resolve("b" + TestHelper.FILE_EXT));
+        awaitTrue(() -> events.contains("remove:b"));
+        assertFalse(catalog.getConfigFile("b").isPresent());
+    }
+
+    //───────────────────────────────────────────────────────────
+    //  Helpers
+    //───────────────────────────────────────────────────────────
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not met within " + TIMEOUT_MS + "ms");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    /**
+     * Writes to a watched file in the same directory and waits for its reload,
+     * which happens after the events of earlier writes were processed.
+     */
+    private static void awaitReloaded(ConfigFile marker, int val) throws IOException, InterruptedException {
+        writeValue(marker.getFile().toPath(), val);
+        awaitTrue(() -> marker.getInt("x") == val);
+    }
+
+    private static void writeValue(Path f, int val) throws IOException {
+        String content;
+        switch (TestHelper.CONFIG_TYPE) {
+            case JSON:
+                content = "{\"x\":" + val + "}";
+                break;
+            case YAML:
+                content = "x: " + val + "\n";
+                break;
+            default:
+                throw new IllegalStateException("unsupported: " + TestHelper.CONFIG_TYPE);
+        }
+        Files.write(f, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -6,10 +6,13 @@ import me.phoenixra.atumconfig.api.config.Config;
 import me.phoenixra.atumconfig.api.config.ConfigFile;
 
 import me.phoenixra.atumconfig.api.config.ConfigType;
+import me.phoenixra.atumconfig.api.placeholders.CompiledTemplate;
 import me.phoenixra.atumconfig.api.placeholders.Placeholder;
 import me.phoenixra.atumconfig.api.placeholders.PlaceholderHandler;
+import me.phoenixra.atumconfig.api.placeholders.PlaceholderScanner;
 import me.phoenixra.atumconfig.api.placeholders.context.PlaceholderContext;
 import me.phoenixra.atumconfig.api.placeholders.context.PlaceholderList;
+import me.phoenixra.atumconfig.api.placeholders.context.PlaceholderListMerged;
 import me.phoenixra.atumconfig.api.placeholders.types.DynamicPlaceholder;
 import me.phoenixra.atumconfig.api.placeholders.types.StaticPlaceholder;
 import me.phoenixra.atumconfig.core.AtumConfigManager;
@@ -19,6 +22,7 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import redempt.crunch.CompiledExpression;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -26,13 +30,17 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * As an experiment, I mostly generated these tests by AI
@@ -66,6 +74,256 @@ public class PlaceholdersTest {
         assertTrue(found.containsAll(Arrays.asList("%foo%", "%bar%")));
     }
 
+    @Test
+    void testScannerMatchesPattern() {
+        for (String text : Arrays.asList(
+                "", "%", "%%", "%a%", "%%a%%", "a %b c% %d%", "%x%%y%", "%a b%c%", "100% sure %p%", "%é:1%!"
+        )) {
+            List<String> expected = new ArrayList<>();
+            Matcher matcher = PlaceholderHandler.PATTERN.matcher(text);
+            while (matcher.find()) {
+                expected.add(matcher.group());
+            }
+            List<String> found = new ArrayList<>();
+            PlaceholderScanner scanner = new PlaceholderScanner(text);
+            while (scanner.find()) {
+                found.add(scanner.token());
+                assertEquals(scanner.token(), text.substring(scanner.start(), scanner.end()));
+            }
+            assertEquals(expected, found, text);
+        }
+    }
+
+    @Test
+    void testEachTokenResolvedOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        handler.registerGlobalPlaceholder(new StaticPlaceholder("n", () -> String.valueOf(calls.incrementAndGet())));
+        handler.registerGlobalPlaceholder(new StaticPlaceholder("self", () -> "%n%"));
+        assertEquals("1 1 %n% %unknown%", handler.translatePlaceholders("%n% %n% %self% %unknown%"));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testExpensivePlaceholdersResolvedInParallel() {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        for (String id : Arrays.asList("a", "b", "c")) {
+            Pattern pattern = Pattern.compile("%" + id + "%", Pattern.LITERAL);
+            handler.registerGlobalPlaceholder(new Placeholder() {
+                @Override public String getValue(@NotNull String replacing, @NotNull PlaceholderContext context) {
+                    threads.add(Thread.currentThread());
+                    return id.toUpperCase();
+                }
+                @Override public @NotNull Pattern getPattern() { return pattern; }
+                @Override public boolean isExpensive() { return true; }
+            });
+        }
+        assertEquals("A-B-C-A", handler.translatePlaceholders("%a%-%b%-%c%-%a%"));
+        assertTrue(threads.contains(Thread.currentThread()), "first one resolved inline");
+        assertTrue(threads.size() > 1, "the others on the pool");
+    }
+
+    @Test
+    void testGlobalIndexKeepsRegistrationOrder() {
+        DynamicPlaceholder anyStat = new DynamicPlaceholder(Pattern.compile("stat:\\w+"), t -> "dyn");
+        DynamicPlaceholder alternatives = new DynamicPlaceholder(Pattern.compile("kills|deaths"), t -> "alt");
+        DynamicPlaceholder optional = new DynamicPlaceholder(Pattern.compile("x?level"), t -> "opt");
+        StaticPlaceholder kills = new StaticPlaceholder("stat:kills", () -> "static");
+        StaticPlaceholder killsAgain = new StaticPlaceholder("stat:kills", () -> "shadowed");
+        handler.registerGlobalPlaceholder(anyStat);
+        handler.registerGlobalPlaceholder(kills);
+        handler.registerGlobalPlaceholder(alternatives);
+        handler.registerGlobalPlaceholder(optional);
+        assertEquals("dyn alt alt opt opt", handler.translatePlaceholders("%stat:kills% %kills% %deaths% %level% %xlevel%"));
+
+        handler.unregisterGlobalPlaceholder(anyStat);
+        assertEquals("static %stat:deaths%", handler.translatePlaceholders("%stat:kills% %stat:deaths%"));
+
+        handler.unregisterGlobalPlaceholder(kills);
+        handler.registerGlobalPlaceholder(killsAgain);
+        assertEquals("shadowed", handler.translatePlaceholders("%stat:kills%"));
+        assertEquals(3, handler.getGlobalPlaceholders().size());
+        assertThrows(UnsupportedOperationException.class, () -> handler.getGlobalPlaceholders().clear());
+    }
+
+    @Test
+    void testGlobalIndexWithOptionalGroups() {
+        handler.registerGlobalPlaceholder(new DynamicPlaceholder(Pattern.compile("stat_(kills)?count"), t -> "stat"));
+        handler.registerGlobalPlaceholder(new DynamicPlaceholder(Pattern.compile("(x)*level"), t -> "level"));
+        handler.registerGlobalPlaceholder(new DynamicPlaceholder(Pattern.compile("rank(_top)?"), t -> "rank"));
+        assertEquals("stat stat level level rank rank",
+                handler.translatePlaceholders("%stat_count% %stat_killscount% %level% %xxlevel% %rank% %rank_top%"));
+    }
+
+    @Test
+    void testTemplatesCachedUntilPathChanges() throws IOException {
+        handler.registerGlobalPlaceholder(new StaticPlaceholder("who", () -> "World"));
+        Path f = tmpRoot.resolve("tpl" + TestHelper.FILE_EXT);
+        Files.write(f, mkMapping("greet", "&aHello %who% %who%").getBytes(StandardCharsets.UTF_8));
+        ConfigFile cfg = manager.createConfigFile(
+                TestHelper.CONFIG_TYPE, "tpl", Paths.get("tpl" + TestHelper.FILE_EXT), false
+        );
+
+        CompiledTemplate template = cfg.getTemplateOrNull("greet");
+        assertSame(template, cfg.getTemplateOrNull("greet"));
+        assertEquals(Arrays.asList("%who%"), template.getPlaceholders());
+        assertEquals("§aHello World World", cfg.getFormattedString("greet"));
+
+        StaticPlaceholder local = new StaticPlaceholder("who", () -> "Local");
+        assertEquals("§aHello Local Local", cfg.getFormattedString("greet",
+                PlaceholderContext.of(new PlaceholderList() {
+                    @Override public void addPlaceholder(@NotNull Iterable<Placeholder> p, boolean d) {}
+                    @Override public void removePlaceholder(@NotNull Iterable<Placeholder> p, boolean d) {}
+                    @Override public void clearPlaceholders(boolean d) {}
+                    @Override public @NotNull List<Placeholder> getPlaceholders() { return Arrays.asList(local); }
+                })));
+
+        cfg.set("greet", "Bye %who%");
+        assertNotSame(template, cfg.getTemplateOrNull("greet"));
+        assertEquals("Bye World", cfg.getFormattedString("greet"));
+
+        Files.write(f, mkMapping("greet", "Reloaded %who%").getBytes(StandardCharsets.UTF_8));
+        cfg.reload();
+        assertEquals("Reloaded World", cfg.getFormattedString("greet"));
+        assertNull(cfg.getTemplateOrNull("missing"));
+    }
+
+    @Test
+    void testEvaluatedExpressionsCached() {
+        AtumConfigManager atumManager = (AtumConfigManager) manager;
+        AtomicInteger x = new AtomicInteger(3);
+        handler.registerGlobalPlaceholder(new StaticPlaceholder("x", () -> String.valueOf(x.get())));
+        Config cfg = manager.createConfigFromString(TestHelper.CONFIG_TYPE, mkMapping("dmg", "2 * %x% + 1"));
+
+        assertEquals(7.0, cfg.getEvaluated("dmg"));
+        assertSame(atumManager.compileExpression("2 * 3 + 1"), atumManager.compileExpression("2 * 3 + 1"));
+        x.set(5);
+        assertEquals(11.0, cfg.getEvaluated("dmg"));
+
+        CompiledExpression cached = atumManager.compileExpression("1 + 1");
+        atumManager.reloadAll();
+        assertNotSame(cached, atumManager.compileExpression("1 + 1"), "cleared on reload");
+
+        atumManager.setExpressionCacheSize(1);
+        CompiledExpression first = atumManager.compileExpression("1 + 2");
+        atumManager.compileExpression("1 + 3");
+        assertNotSame(first, atumManager.compileExpression("1 + 2"), "evicted");
+        assertEquals(3.0, atumManager.compileExpression("1 + 2").evaluate());
+    }
+
+    @Test
+    void testBatchTranslationResolvesOncePerBatch() {
+        AtomicInteger calls = new AtomicInteger();
+        handler.registerGlobalPlaceholder(new StaticPlaceholder("balance", () -> String.valueOf(calls.incrementAndGet())));
+        handler.registerGlobalPlaceholder(new StaticPlaceholder("name", () -> "GLOBAL"));
+        StaticPlaceholder local = new StaticPlaceholder("name", () -> "LOCAL");
+        PlaceholderList localList = new PlaceholderList() {
+            @Override public void addPlaceholder(@NotNull Iterable<Placeholder> p, boolean d) {}
+            @Override public void removePlaceholder(@NotNull Iterable<Placeholder> p, boolean d) {}
+            @Override public void clearPlaceholders(boolean d) {}
+            @Override public @NotNull List<Placeholder> getPlaceholders() { return Arrays.asList(local); }
+        };
+        List<String> lines = Arrays.asList("%name%: %balance%", "plain", "%balance% %missing%", "");
+        assertEquals(Arrays.asList("LOCAL: 1", "plain", "1 %missing%", ""),
+                handler.translatePlaceholders(lines, PlaceholderContext.of(localList)));
+        assertEquals(1, calls.get());
+
+        assertEquals(lines, PlaceholderHandler.EMPTY.translatePlaceholders(lines, PlaceholderContext.EMPTY));
+    }
+
+    @Test
+    void testMergedListCachedUntilChanged() throws IOException {
+        Config base = manager.createConfigFromString(TestHelper.CONFIG_TYPE, mkMapping("k", "v"));
+        Config additional = manager.createConfigFromString(TestHelper.CONFIG_TYPE, mkMapping("k", "v"));
+        base.addPlaceholder(Arrays.asList(new StaticPlaceholder("a", () -> "A")), false);
+        PlaceholderListMerged merged = new PlaceholderListMerged(base, additional);
+
+        List<Placeholder> first = merged.getPlaceholders();
+        long version = merged.getPlaceholderVersion();
+        assertSame(first, merged.getPlaceholders(), "snapshot reused while unchanged");
+        assertNull(merged.findPlaceholder("%b%"));
+
+        StaticPlaceholder b = new StaticPlaceholder("b", () -> "B");
+        additional.addPlaceholder(Arrays.asList(b), false);
+        assertTrue(merged.getPlaceholderVersion() > version);
+        assertNotSame(first, merged.getPlaceholders());
+        assertSame(b, merged.findPlaceholder("%b%"));
+        assertEquals("A B", handler.translatePlaceholders("%a% %b%", PlaceholderContext.of(merged)));
+
+        merged.clearPlaceholders(true);
+        assertTrue(merged.getPlaceholders().isEmpty());
+        assertNull(merged.findPlaceholder("%a%"));
+    }
+
+    @Test
+    void testMemoizingContextResolvesOncePerScope() {
+        AtomicInteger calls = new AtomicInteger();
+        handler.registerGlobalPlaceholder(new StaticPlaceholder("balance", () -> String.valueOf(calls.incrementAndGet())));
+
+        PlaceholderContext scope = PlaceholderContext.EMPTY.memoizing();
+        assertTrue(scope.isMemoizing());
+        assertSame(scope, scope.memoizing());
+        assertEquals("1", handler.translatePlaceholders("%balance%", scope));
+        assertEquals("x 1", handler.translatePlaceholders("x %balance%", scope));
+        assertEquals("1", handler.resolvePlaceholder("%balance%", scope));
+        assertEquals(1, calls.get());
+
+        assertEquals("2", handler.translatePlaceholders("%balance%", PlaceholderContext.EMPTY.memoizing()));
+        assertEquals("3", handler.translatePlaceholders("%balance%"));
+    }
+
+    @Test
+    void testMemoizingContextSharedByFormattedStrings() {
+        AtomicInteger calls = new AtomicInteger();
+        handler.registerGlobalPlaceholder(new StaticPlaceholder("balance", () -> String.valueOf(calls.incrementAndGet())));
+        Config cfg = manager.createConfigFromString(TestHelper.CONFIG_TYPE, mkMapping("msg", "You have %balance%"));
+        Config other = manager.createConfigFromString(TestHelper.CONFIG_TYPE, mkMapping("msg", "Other %balance%"));
+        other.addPlaceholder(Collections.singletonList(new StaticPlaceholder("balance", () -> "own")), false);
+
+        PlaceholderContext scope = PlaceholderContext.EMPTY.memoizing();
+        assertEquals("You have 1", cfg.getFormattedString("msg", scope));
+        assertEquals("You have 1", cfg.getFormattedString("msg", scope));
+        assertEquals(1, calls.get(), "resolved once across calls on the same scope");
+
+        // placeholders of a config never reuse the values of others
+        assertEquals("Other own", other.getFormattedString("msg", scope));
+        assertEquals("You have 1", cfg.getFormattedString("msg", scope));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testPlaceholderTtlCachesValues() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        Placeholder cached = ttlPlaceholder("cached", 60_000, calls);
+        handler.registerGlobalPlaceholder(cached);
+
+        assertEquals("a1 a1 b2", handler.translatePlaceholders("%cached_a% %cached_a% %cached_b%"));
+        assertEquals("a1", handler.translatePlaceholders("%cached_a%"));
+
+        handler.unregisterGlobalPlaceholder(cached);
+        handler.registerGlobalPlaceholder(cached);
+        assertEquals("a3", handler.translatePlaceholders("%cached_a%"));
+
+        handler.registerGlobalPlaceholder(ttlPlaceholder("expiring", 1, calls));
+        assertEquals("a4", handler.translatePlaceholders("%expiring_a%"));
+        Thread.sleep(50);
+        assertEquals("a5", handler.translatePlaceholders("%expiring_a%"));
+    }
+
+    /**
+     * Placeholder of tokens like {@code %prefix_a%}, resolving to {@code a}
+     * followed by the number of the resolution.
+     */
+    private static Placeholder ttlPlaceholder(String prefix, long ttlMillis, AtomicInteger calls) {
+        Pattern pattern = Pattern.compile("%" + prefix + "_([a-z]+)%");
+        return new Placeholder() {
+            @Override public String getValue(@NotNull String t, @NotNull PlaceholderContext c) {
+                return t.substring(prefix.length() + 2, t.length() - 1) + calls.incrementAndGet();
+            }
+            @Override public @NotNull Pattern getPattern() { return pattern; }
+            @Override public long getCacheTtlMillis() { return ttlMillis; }
+        };
+    }
+
     @Test
     void testTranslatePlaceholders_withoutAnyRegistered() {
         String input = "Just some text %nothing%";